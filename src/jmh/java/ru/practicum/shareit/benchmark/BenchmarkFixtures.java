@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory entities shared by the benchmarks, so runs of different releases see the same data.
+ */
+final class BenchmarkFixtures {
+    private static final long SEED = 42L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Item> items(int count) {
+        User owner = user(1L, "owner");
+        List<Item> items = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setId((long) i + 1);
+            item.setOwner(owner);
+            item.setName("Item " + i);
+            item.setDescription("Description of benchmark item number " + i);
+            item.setAvailable(i % 10 != 0);
+            items.add(item);
+        }
+
+        return items;
+    }
+
+    static List<Booking> bookings(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        User booker = user(2L, "booker");
+        List<Item> items = items(Math.max(1, count / 10));
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(-240, 240));
+
+            Booking booking = new Booking();
+            booking.setId((long) i + 1);
+            booking.setBooker(booker);
+            booking.setItem(items.get(i % items.size()));
+            booking.setStartDate(start);
+            booking.setEndDate(start.plusHours(random.nextInt(1, 72)));
+            booking.setStatus(statuses[random.nextInt(statuses.length)]);
+            booking.setPhase(BookingPhase.of(booking.getStatus(), start, booking.getEndDate(), now));
+            bookings.add(booking);
+        }
+
+        return bookings;
+    }
+
+    private static User user(long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name + "@benchmark.local");
+        return user;
+    }
+}
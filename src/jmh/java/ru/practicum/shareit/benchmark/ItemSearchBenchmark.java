@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService#search} end to end against the H2 {@code test} profile, seeded through the service so the
+ * in-memory index sees the same items as the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final String[] WORDS = {"drill", "ladder", "tent", "kayak", "projector", "camera", "bike", "saw"};
+
+    @Param({"jpql", "ngram"})
+    private String engine;
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"drill", "ka", "number 42"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("shareit.search.engine=" + engine, "logging.level.org.hibernate.SQL=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@benchmark.local");
+        owner = context.getBean(UserRepository.class).save(owner);
+
+        List<ItemCreateDto> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (int i = 0; i < items; i++) {
+            String word = WORDS[i % WORDS.length];
+            batch.add(new ItemCreateDto(null, word + " " + i, "Rental " + word + ", number " + i, i % 10 != 0));
+
+            if (batch.size() == SEED_BATCH_SIZE) {
+                itemService.createAll(batch, owner.getId());
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            itemService.createAll(batch, owner.getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<ItemRequestDto> firstPage() {
+        return itemService.search(text, 20, null);
+    }
+}
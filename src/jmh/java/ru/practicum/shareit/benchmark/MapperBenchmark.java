@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion, including the booking state calculation. {@code bookingsClockPerRow} reads the clock
+ * for every booking, {@code bookingsSharedClock} once per list as the services do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        bookings = BenchmarkFixtures.bookings(size);
+        items = BenchmarkFixtures.items(size);
+    }
+
+    @Benchmark
+    public void bookingsClockPerRow(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toRequestDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void bookingsSharedClock(Blackhole blackhole) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toRequestDto(booking, now));
+        }
+    }
+
+    @Benchmark
+    public void itemsToDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toDto(item));
+        }
+    }
+
+    @Benchmark
+    public void itemsToCard(Blackhole blackhole) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toItemWithBookingDateDto(item, List.of(), now.minusDays(1), now.plusDays(1)));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread against virtual-thread request handling on the item and booking read paths, driven over HTTP
+ * by many concurrent clients. Sample mode reports throughput together with the p50/p99 latencies.
+ *
+ * <p>The item card cache is switched off, so {@code item} measures the card assembly and its queries rather than
+ * a map lookup. The H2 {@code test} profile is the default; {@code -p profile=default} runs against the Postgres
+ * settings from {@code application.properties}, which is where blocking I/O makes the difference visible. Client
+ * concurrency follows {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Threads(200)
+@Fork(1)
+public class ThreadModeBenchmark {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String DEFAULT_PROFILE = "default";
+
+    @Param({"false", "true"})
+    private boolean virtual;
+
+    @Param({"item", "items", "bookings"})
+    private String path;
+
+    @Param({"test"})
+    private String profile;
+
+    @Param({"200"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long ownerId;
+    private long bookerId;
+    private long[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItApp.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "shareit.item-card-cache.maximum-size=0",
+                        "shareit.item-card-cache.ttl=PT0S",
+                        "logging.level.org.hibernate.SQL=WARN");
+
+        if (!DEFAULT_PROFILE.equals(profile)) {
+            builder.profiles(profile);
+        }
+
+        context = builder.run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request(path), HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+
+        return response.statusCode();
+    }
+
+    private HttpRequest request(String path) {
+        return switch (path) {
+            case "item" -> get("/items/" + itemIds[ThreadLocalRandom.current().nextInt(itemIds.length)], ownerId);
+            case "items" -> get("/items?limit=50", ownerId);
+            case "bookings" -> get("/bookings?state=ALL&limit=20", bookerId);
+            default -> throw new IllegalArgumentException("Unknown path " + path);
+        };
+    }
+
+    private HttpRequest get(String uri, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + uri))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private void seed() {
+        User owner = context.getBean(UserRepository.class).save(user("owner"));
+        User booker = context.getBean(UserRepository.class).save(user("booker"));
+        List<Item> seeded = new ArrayList<>(items);
+
+        for (int i = 0; i < items; i++) {
+            Item item = new Item();
+            item.setOwner(owner);
+            item.setName("Item " + i);
+            item.setDescription("Benchmark item number " + i);
+            item.setAvailable(true);
+            seeded.add(item);
+        }
+
+        seeded = context.getBean(ItemRepository.class).saveAll(seeded);
+
+        List<Booking> bookings = new ArrayList<>(items);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        for (int i = 0; i < seeded.size(); i++) {
+            Booking booking = new Booking();
+            booking.setBooker(booker);
+            booking.setItem(seeded.get(i));
+            booking.setStartDate(start.plusHours(i));
+            booking.setEndDate(start.plusHours(i + 1));
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setPhase(BookingPhase.FUTURE);
+            bookings.add(booking);
+        }
+
+        context.getBean(BookingRepository.class).saveAll(bookings);
+
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        itemIds = seeded.stream().mapToLong(Item::getId).toArray();
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + System.nanoTime() + "@benchmark.local");
+        return user;
+    }
+}
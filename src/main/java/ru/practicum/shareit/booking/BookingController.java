@@ -2,12 +2,22 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingExportFormat;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.idempotency.IdempotencyStore;
+import ru.practicum.shareit.metrics.QueryBudget;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,11 +26,21 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     public BookingRequestDto create(@Valid @RequestBody BookingCreateDto bookingCreateDto,
-                                    @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return bookingService.create(bookingCreateDto, userId);
+                                    @RequestHeader("X-Sharer-User-Id") Long userId,
+                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /bookings " + userId, idempotencyKey, bookingCreateDto,
+                BookingRequestDto.class, () -> bookingService.create(bookingCreateDto, userId));
+    }
+
+    @PostMapping("/batch")
+    public List<BookingRequestDto> createAll(@Valid @RequestBody List<BookingCreateDto> bookingCreateDtos,
+                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.createAll(bookingCreateDtos, userId);
     }
 
     @PatchMapping("/{bookingId}")
@@ -31,20 +51,51 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
+    @QueryBudget(1)
     public BookingRequestDto get(@RequestHeader("X-Sharer-User-Id") Long userId,
                                  @PathVariable Long bookingId) {
         return bookingService.get(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingRequestDto> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getAllByBooker(userId, state);
+    @QueryBudget(2)
+    public ResponseEntity<List<BookingRequestDto>> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                @RequestParam(defaultValue = "0") Integer from,
+                                                                @RequestParam(defaultValue = "10") Integer size,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String cursor) {
+        return bookingService.getAllByBooker(userId, state, from, limit == null ? size : limit, cursor)
+                .toResponseEntity();
     }
 
     @GetMapping("/owner")
-    public List<BookingRequestDto> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getAllByOwner(userId, state);
+    @QueryBudget(3)
+    public ResponseEntity<List<BookingRequestDto>> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(defaultValue = "ALL") BookingState state,
+                                                               @RequestParam(defaultValue = "0") Integer from,
+                                                               @RequestParam(defaultValue = "10") Integer size,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) String cursor) {
+        return bookingService.getAllByOwner(userId, state, from, limit == null ? size : limit, cursor)
+                .toResponseEntity();
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                               LocalDateTime from,
+                                                               @RequestParam(required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                               LocalDateTime to) {
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(bookingExportService.exportByOwner(userId, exportFormat, from, to));
     }
 }
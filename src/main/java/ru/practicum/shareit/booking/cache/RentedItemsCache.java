@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Per-user sorted set of item ids the user is known to have rented: the database has confirmed an approved booking
+ * of the item that has already started. Such a fact only changes when the owner rejects the booking afterwards,
+ * which drops the user's set.
+ *
+ * <p>Only hits are trusted. A miss proves nothing, because the set of another instance, or one filled while an
+ * approval was still uncommitted, can lag behind the table; callers confirm a miss with the database.
+ */
+@Component
+public class RentedItemsCache {
+    private final Cache<Long, long[]> cache;
+
+    public RentedItemsCache(MeterRegistry meterRegistry,
+                            @Value("${shareit.rented-items-cache.maximum-size:100000}") long maximumSize,
+                            @Value("${shareit.rented-items-cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "rentedItems");
+    }
+
+    public boolean isKnownRented(Long userId, Long itemId) {
+        long[] itemIds = cache.getIfPresent(userId);
+
+        return itemIds != null && Arrays.binarySearch(itemIds, itemId) >= 0;
+    }
+
+    public void addRented(Long userId, Long itemId) {
+        cache.asMap().compute(userId, (id, itemIds) -> {
+            if (itemIds == null) {
+                return new long[]{itemId};
+            }
+
+            int position = Arrays.binarySearch(itemIds, itemId);
+
+            if (position >= 0) {
+                return itemIds;
+            }
+
+            int insertAt = -position - 1;
+            long[] updated = new long[itemIds.length + 1];
+            System.arraycopy(itemIds, 0, updated, 0, insertAt);
+            updated[insertAt] = itemId;
+            System.arraycopy(itemIds, insertAt, updated, insertAt + 1, itemIds.length - insertAt);
+            return updated;
+        });
+    }
+
+    public void forget(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingDatesDto {
+    private Long itemId;
+
+    private LocalDateTime lastBookingDate;
+
+    private LocalDateTime nextBookingDate;
+}
@@ -5,8 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 
@@ -15,9 +15,9 @@ import java.time.LocalDateTime;
 public class BookingRequestDto {
     private Long id;
 
-    private User booker;
+    private UserShortDto booker;
 
-    private Item item;
+    private ItemShortDto item;
 
     @JsonProperty("start")
     private LocalDateTime startDate;
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.interval;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingInterval(Long bookingId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getStartDate(), booking.getEndDate(), booking.getStatus());
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
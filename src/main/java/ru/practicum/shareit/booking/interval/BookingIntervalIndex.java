@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Per-item index of APPROVED/WAITING booking windows used to reject overlapping bookings.
+ *
+ * <p>An item's windows are loaded from {@link BookingRepository} on first access and dropped again once the
+ * item has not been touched for the idle timeout. Every read and mutation runs under one of a fixed set of
+ * striped locks, so work on different items rarely contends.
+ *
+ * <p>The index only sees the writes of its own instance. With several instances it is a fast path that rejects
+ * most overlaps without a query, while the exclusion constraint installed by {@code BookingPartitions} on
+ * PostgreSQL makes sure two overlapping bookings are never both APPROVED. Overlapping WAITING requests coming in
+ * through different instances can still both be accepted; only one of them can be approved.
+ */
+@Component
+public class BookingIntervalIndex {
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final Clock clock;
+    private final Duration idleTimeout;
+    private final Lock[] locks = new Lock[STRIPES];
+    private final ConcurrentMap<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                Clock clock,
+                                @Value("${shareit.booking.interval-index.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.bookingRepository = bookingRepository;
+        this.clock = clock;
+        this.idleTimeout = idleTimeout;
+
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withItemLock(Long itemId, Function<ItemIntervals, T> action) {
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            ItemIntervals intervals = intervalsByItem.computeIfAbsent(itemId, this::load);
+            intervals.touch(clock.millis());
+
+            T result = action.apply(intervals);
+            dropOnRollback(itemId);
+
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the locks of all given items. Stripes are taken in a fixed order so that
+     * concurrent batches can not deadlock. The windows of the given items are dropped afterwards and reloaded
+     * on next access, so provisional intervals added by the action never outlive it.
+     */
+    public <T> T withItemLocks(Collection<Long> itemIds, Function<Map<Long, ItemIntervals>, T> action) {
+        SortedSet<Integer> stripes = new TreeSet<>();
+        itemIds.forEach(itemId -> stripes.add(stripeFor(itemId)));
+        stripes.forEach(stripe -> locks[stripe].lock());
+        try {
+            Map<Long, ItemIntervals> intervals = HashMap.newHashMap(itemIds.size());
+
+            for (Long itemId : itemIds) {
+                ItemIntervals itemIntervals = intervalsByItem.computeIfAbsent(itemId, this::load);
+                itemIntervals.touch(clock.millis());
+                intervals.put(itemId, itemIntervals);
+            }
+
+            return action.apply(intervals);
+        } finally {
+            itemIds.forEach(intervalsByItem::remove);
+            stripes.forEach(stripe -> locks[stripe].unlock());
+        }
+    }
+
+    public void invalidate(Long itemId) {
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            intervalsByItem.remove(itemId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An action running inside a caller's transaction (an idempotent request stores its response in the same one)
+     * can still be rolled back after it returned. The windows it added are then dropped and reloaded from the table.
+     */
+    private void dropOnRollback(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidate(itemId);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.interval-index.evict-interval-ms:60000}")
+    public void evictColdItems() {
+        long threshold = clock.millis() - idleTimeout.toMillis();
+
+        for (Map.Entry<Long, ItemIntervals> entry : intervalsByItem.entrySet()) {
+            if (entry.getValue().lastAccessMillis() >= threshold) {
+                continue;
+            }
+
+            Lock lock = lockFor(entry.getKey());
+
+            if (!lock.tryLock()) {
+                continue;
+            }
+
+            try {
+                intervalsByItem.remove(entry.getKey(), entry.getValue());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ItemIntervals load(Long itemId) {
+        return new ItemIntervals(bookingRepository.findIntervalsByItem(itemId,
+                List.of(BookingStatus.APPROVED, BookingStatus.WAITING), LocalDateTime.now(clock)));
+    }
+
+    private Lock lockFor(Long itemId) {
+        return locks[stripeFor(itemId)];
+    }
+
+    private int stripeFor(Long itemId) {
+        return Long.hashCode(itemId) & (STRIPES - 1);
+    }
+}
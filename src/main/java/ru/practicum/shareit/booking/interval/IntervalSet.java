@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Intervals sorted by start with a running maximum of their ends, so an overlap check is a single binary search
+ * even when the stored intervals overlap each other.
+ */
+final class IntervalSet {
+    private final List<BookingInterval> intervals = new ArrayList<>();
+    private final List<LocalDateTime> maxEnds = new ArrayList<>();
+
+    void add(BookingInterval interval) {
+        int position = countStartingBefore(interval.start());
+
+        while (position < intervals.size() && !intervals.get(position).start().isAfter(interval.start())) {
+            position++;
+        }
+
+        intervals.add(position, interval);
+        maxEnds.add(position, interval.end());
+        recomputeFrom(position);
+    }
+
+    boolean remove(Long bookingId) {
+        for (int i = 0; i < intervals.size(); i++) {
+            if (bookingId.equals(intervals.get(i).bookingId())) {
+                intervals.remove(i);
+                maxEnds.remove(i);
+                recomputeFrom(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int candidates = countStartingBefore(end);
+
+        return candidates > 0 && maxEnds.get(candidates - 1).isAfter(start);
+    }
+
+    List<BookingInterval> intervals() {
+        return List.copyOf(intervals);
+    }
+
+    int size() {
+        return intervals.size();
+    }
+
+    private int countStartingBefore(LocalDateTime moment) {
+        int low = 0;
+        int high = intervals.size();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (intervals.get(middle).start().isBefore(moment)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private void recomputeFrom(int position) {
+        for (int i = position; i < intervals.size(); i++) {
+            LocalDateTime end = intervals.get(i).end();
+            LocalDateTime previous = i == 0 ? null : maxEnds.get(i - 1);
+            maxEnds.set(i, previous != null && previous.isAfter(end) ? previous : end);
+        }
+    }
+}
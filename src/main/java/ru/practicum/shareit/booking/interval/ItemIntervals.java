@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.interval;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * APPROVED and WAITING booking windows of a single item. Instances are only touched under the item's lock
+ * in {@link BookingIntervalIndex}.
+ */
+public class ItemIntervals {
+    private final IntervalSet approved = new IntervalSet();
+    private final IntervalSet waiting = new IntervalSet();
+    private volatile long lastAccessMillis;
+
+    ItemIntervals(List<BookingInterval> intervals) {
+        intervals.forEach(this::add);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return approved.overlaps(start, end) || waiting.overlaps(start, end);
+    }
+
+    public boolean overlapsApproved(LocalDateTime start, LocalDateTime end) {
+        return approved.overlaps(start, end);
+    }
+
+    public void add(BookingInterval interval) {
+        if (interval.status() == BookingStatus.APPROVED) {
+            approved.add(interval);
+        } else if (interval.status() == BookingStatus.WAITING) {
+            waiting.add(interval);
+        }
+    }
+
+    public void remove(Long bookingId) {
+        if (!waiting.remove(bookingId)) {
+            approved.remove(bookingId);
+        }
+    }
+
+    public List<BookingInterval> approvedIntervals() {
+        return approved.intervals();
+    }
+
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+
+    long lastAccessMillis() {
+        return lastAccessMillis;
+    }
+}
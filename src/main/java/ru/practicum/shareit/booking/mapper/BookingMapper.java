@@ -3,43 +3,53 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserShortDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 
 public class BookingMapper {
 
-    public static Booking toEntity(BookingCreateDto bookingCreateDto, User booker, Item item) {
+    public static Booking toEntity(BookingCreateDto bookingCreateDto, User booker, Item item, LocalDateTime now) {
         return new Booking(
                 bookingCreateDto.getId(),
                 booker,
                 item,
                 bookingCreateDto.getStartDate(),
                 bookingCreateDto.getEndDate(),
-                bookingCreateDto.getStatus()
+                bookingCreateDto.getStatus(),
+                BookingPhase.of(bookingCreateDto.getStatus(), bookingCreateDto.getStartDate(),
+                        bookingCreateDto.getEndDate(), now),
+                false
         );
     }
 
     public static BookingRequestDto toRequestDto(Booking booking) {
+        return toRequestDto(booking, LocalDateTime.now());
+    }
+
+    public static BookingRequestDto toRequestDto(Booking booking, LocalDateTime now) {
         return new BookingRequestDto(
                 booking.getId(),
-                booking.getBooker(),
-                booking.getItem(),
+                new UserShortDto(booking.getBooker().getId(), booking.getBooker().getName()),
+                new ItemShortDto(booking.getItem().getId(), booking.getItem().getName()),
                 booking.getStartDate(),
                 booking.getEndDate(),
                 booking.getStatus(),
-                calculateState(booking)
+                calculateState(booking, now)
         );
     }
 
-    private static BookingState calculateState(Booking booking) {
+    private static BookingState calculateState(Booking booking, LocalDateTime now) {
 
         if (booking.getStatus() == BookingStatus.WAITING) {
 
-            if (booking.getStartDate().isBefore(LocalDateTime.now())) {
+            if (booking.getStartDate().isBefore(now)) {
                 return BookingState.REJECTED;
             } else {
                 return BookingState.WAITING;
@@ -48,11 +58,11 @@ public class BookingMapper {
 
         if (booking.getStatus() == BookingStatus.APPROVED) {
 
-            if (booking.getStartDate().isAfter(LocalDateTime.now())) {
+            if (booking.getStartDate().isAfter(now)) {
                 return BookingState.FUTURE;
             }
 
-            if (booking.getEndDate().isAfter(LocalDateTime.now())) {
+            if (booking.getEndDate().isAfter(now)) {
                 return BookingState.CURRENT;
             }
 
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted position of a booking in its lifecycle. Phases only move forward and are advanced by
+ * {@code BookingPhaseSweeper}, so a stored phase may lag behind the clock but is never ahead of it.
+ */
+public enum BookingPhase {
+    WAITING,
+    FUTURE,
+    CURRENT,
+    PAST,
+    REJECTED;
+
+    public static BookingPhase of(BookingStatus status, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        return switch (status) {
+            case WAITING -> WAITING;
+            case REJECTED, EXPIRED -> REJECTED;
+            case APPROVED -> start.isAfter(now) ? FUTURE : end.isAfter(now) ? CURRENT : PAST;
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.storage.BookingPartitions;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings that ended more than {@code retention} ago (past or rejected, so their state can no longer
+ * change) out of the hot working set by setting {@code archived}. On PostgreSQL the update relocates the rows into
+ * the archive partition; see {@link BookingPartitions}.
+ *
+ * <p>Batches are locked with {@code FOR UPDATE SKIP LOCKED}, like the phase sweeper, so several instances can run
+ * side by side. Missing yearly archive partitions are created inside the batch transaction, so a rolled back batch
+ * never leaves rows behind in a partition that does not exist yet.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+    private final BookingRepository bookingRepository;
+    private final BookingPartitions bookingPartitions;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter archived;
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           BookingPartitions bookingPartitions,
+                           PlatformTransactionManager transactionManager,
+                           Clock clock,
+                           MeterRegistry meterRegistry,
+                           @Value("${shareit.booking.archive.retention:P90D}") Duration retention,
+                           @Value("${shareit.booking.archive.batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingPartitions = bookingPartitions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("shareit.booking.archived")
+                .description("Bookings moved out of the hot partition")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.archive.interval-ms:3600000}",
+            initialDelayString = "${shareit.booking.archive.initial-delay-ms:60000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+
+        int total = 0;
+        int moved;
+
+        do {
+            moved = transactionTemplate.execute(status -> {
+                List<Long> ids = bookingRepository.lockArchivableIds(cutoff, batchSize);
+
+                if (!ids.isEmpty()) {
+                    if (bookingPartitions.isPartitioned()) {
+                        bookingRepository.findStartYearsByIds(ids).forEach(bookingPartitions::ensureArchivePartition);
+                    }
+                    bookingRepository.archive(ids);
+                }
+
+                return ids.size();
+            });
+            total += moved;
+        } while (moved == batchSize);
+
+        archived.increment(total);
+
+        if (total > 0) {
+            log.info("Archived {} bookings that ended before {}", total, cutoff);
+        }
+    }
+}
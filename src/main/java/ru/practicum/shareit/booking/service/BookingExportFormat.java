@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+public enum BookingExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    BookingExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static BookingExportFormat from(String format) {
+        for (BookingExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+
+        throw new ValidationException("Unknown export format: " + format);
+    }
+}
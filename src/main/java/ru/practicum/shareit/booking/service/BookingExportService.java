@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+public interface BookingExportService {
+    StreamingResponseBody exportByOwner(Long userId, BookingExportFormat format, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Streams an owner's bookings straight from a forward-only JPA result to the response. Every booking is
+ * detached right after it is written, so heap use stays flat regardless of the history size.
+ */
+@Service
+public class BookingExportServiceImpl implements BookingExportService {
+    private static final String CSV_HEADER = "id,start,end,status,state,bookerId,bookerName,itemId,itemName";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter bookingWriter;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public BookingExportServiceImpl(BookingRepository bookingRepository,
+                                    UserRepository userRepository,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.bookingWriter = objectMapper.writerFor(BookingRequestDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.clock = clock;
+    }
+
+    @Override
+    public StreamingResponseBody exportByOwner(Long userId, BookingExportFormat format,
+                                               LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("The start of the window must be before its end");
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not fount " + userId);
+        }
+
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Booking> bookings = bookingRepository.streamAllByOwner(userId, from, to)) {
+                if (format == BookingExportFormat.CSV) {
+                    writeCsv(bookings, outputStream);
+                } else {
+                    writeNdjson(bookings, outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        LocalDateTime now = LocalDateTime.now(clock);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+
+        for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+            bookingWriter.writeValue(generator, BookingMapper.toRequestDto(booking, now));
+            generator.writeRaw('\n');
+            detach(booking);
+        }
+
+        generator.flush();
+    }
+
+    private void writeCsv(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+            BookingRequestDto dto = BookingMapper.toRequestDto(booking, now);
+
+            writer.write(String.join(",",
+                    String.valueOf(dto.getId()),
+                    String.valueOf(dto.getStartDate()),
+                    String.valueOf(dto.getEndDate()),
+                    String.valueOf(dto.getStatus()),
+                    String.valueOf(dto.getState()),
+                    String.valueOf(dto.getBooker().getId()),
+                    csvField(dto.getBooker().getName()),
+                    String.valueOf(dto.getItem().getId()),
+                    csvField(dto.getItem().getName())));
+            writer.write('\n');
+            detach(booking);
+        }
+
+        writer.flush();
+    }
+
+    private void detach(Booking booking) {
+        entityManager.detach(booking.getBooker());
+        entityManager.detach(booking.getItem());
+        entityManager.detach(booking);
+    }
+
+    /**
+     * Quotes a free-text cell when needed. Cells a spreadsheet would evaluate as a formula are prefixed with
+     * {@code '} and quoted, so an item named {@code =HYPERLINK(...)} is shown as text instead of being run.
+     */
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+
+        boolean formula = FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+
+        if (!formula && value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + (formula ? "'" : "") + value.replace("\"", "\"\"") + '"';
+    }
+}
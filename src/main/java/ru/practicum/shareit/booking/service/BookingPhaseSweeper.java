@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.storage.ItemCardVersions;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Moves bookings forward through their persisted lifecycle: WAITING bookings whose start has passed become
+ * EXPIRED, approved bookings advance FUTURE → CURRENT → PAST. A started or ended booking changes the last and
+ * next dates on its item's card, so those transitions also bump the item's card version.
+ *
+ * <p>Each batch locks at most {@code batch-size} rows with {@code FOR UPDATE SKIP LOCKED} and updates them in the
+ * same short transaction, so several instances can sweep side by side and user requests touching the same rows
+ * are never blocked for long.
+ */
+@Slf4j
+@Component
+public class BookingPhaseSweeper {
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemCardVersions itemCardVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final Map<BookingPhase, Counter> transitions;
+
+    public BookingPhaseSweeper(BookingRepository bookingRepository,
+                               BookingIntervalIndex bookingIntervalIndex,
+                               ItemCardVersions itemCardVersions,
+                               PlatformTransactionManager transactionManager,
+                               Clock clock,
+                               MeterRegistry meterRegistry,
+                               @Value("${shareit.booking.phase-sweeper.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.itemCardVersions = itemCardVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.transitions = Map.of(
+                BookingPhase.REJECTED, transitionCounter(meterRegistry, BookingPhase.REJECTED),
+                BookingPhase.CURRENT, transitionCounter(meterRegistry, BookingPhase.CURRENT),
+                BookingPhase.PAST, transitionCounter(meterRegistry, BookingPhase.PAST)
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.phase-sweeper.interval-ms:30000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        int expired = sweep(BookingPhase.REJECTED, limit -> {
+            List<Long> ids = bookingRepository.lockStartedIdsByPhase(BookingPhase.WAITING.name(), now, limit);
+
+            if (!ids.isEmpty()) {
+                bookingRepository.updateStatusAndPhase(ids, BookingStatus.EXPIRED, BookingPhase.REJECTED);
+                invalidateAfterCommit(bookingRepository.findItemIdsByIds(ids));
+            }
+
+            return ids.size();
+        });
+
+        int started = sweep(BookingPhase.CURRENT, limit -> {
+            List<Long> ids = bookingRepository.lockStartedIdsByPhase(BookingPhase.FUTURE.name(), now, limit);
+
+            if (!ids.isEmpty()) {
+                bookingRepository.updatePhase(ids, BookingPhase.CURRENT);
+                itemCardVersions.bump(bookingRepository.findItemIdsByIds(ids));
+            }
+
+            return ids.size();
+        });
+
+        int ended = sweep(BookingPhase.PAST, limit -> {
+            List<Long> ids = bookingRepository.lockEndedIdsByPhase(BookingPhase.CURRENT.name(), now, limit);
+
+            if (!ids.isEmpty()) {
+                bookingRepository.updatePhase(ids, BookingPhase.PAST);
+                itemCardVersions.bump(bookingRepository.findItemIdsByIds(ids));
+            }
+
+            return ids.size();
+        });
+
+        if (expired + started + ended > 0) {
+            log.info("Booking phases swept: {} expired, {} started, {} ended", expired, started, ended);
+        }
+    }
+
+    /**
+     * Drops the cached windows only once the expiry is visible to other transactions; dropping them earlier lets
+     * a concurrent request reload the still WAITING rows into the index.
+     */
+    private void invalidateAfterCommit(List<Long> itemIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemIds.forEach(bookingIntervalIndex::invalidate);
+            }
+        });
+    }
+
+    private int sweep(BookingPhase target, Function<Integer, Integer> batch) {
+        int total = 0;
+        int updated;
+
+        do {
+            updated = transactionTemplate.execute(status -> batch.apply(batchSize));
+            total += updated;
+        } while (updated == batchSize);
+
+        transitions.get(target).increment(total);
+        return total;
+    }
+
+    private static Counter transitionCounter(MeterRegistry meterRegistry, BookingPhase target) {
+        return Counter.builder("shareit.booking.phase.transitions")
+                .description("Bookings moved to a new phase by the sweeper")
+                .tag("phase", target.name())
+                .register(meterRegistry);
+    }
+}
@@ -1,19 +1,37 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDatesDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     BookingRequestDto create(BookingCreateDto bookingCreateDto, Long userId);
 
+    List<BookingRequestDto> createAll(List<BookingCreateDto> bookingCreateDtos, Long userId);
+
     BookingRequestDto approve(Long userId, Long bookingId, Boolean approved);
 
     BookingRequestDto get(Long userId, Long bookingId);
 
-    List<BookingRequestDto> getAllByBooker(Long userId, BookingState state);
+    boolean hasRented(Long userId, Long itemId);
+
+    CursorPage<BookingRequestDto> getAllByBooker(Long userId, BookingState state, Integer from, Integer limit,
+                                                 String cursor);
+
+    CursorPage<BookingRequestDto> getAllByOwner(Long userId, BookingState state, Integer from, Integer limit,
+                                                String cursor);
+
+    BookingDatesDto getBookingDates(Long itemId);
+
+    Map<Long, BookingDatesDto> getBookingDates(Collection<Long> itemIds);
 
-    List<BookingRequestDto> getAllByOwner(Long userId, BookingState state);
+    List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
 }
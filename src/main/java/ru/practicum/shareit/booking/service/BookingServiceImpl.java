@@ -1,32 +1,63 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.cache.RentedItemsCache;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDatesDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.interval.BookingInterval;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interval.ItemIntervals;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingRole;
+import ru.practicum.shareit.config.AfterCommit;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemCardVersions;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
-import java.util.Comparator;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class BookingServiceImpl implements BookingService {
+    private static final int BATCH_MAX_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemCardCache itemCardCache;
+    private final ItemCardVersions itemCardVersions;
+    private final RentedItemsCache rentedItemsCache;
+    private final Clock clock;
 
     @Override
     public BookingRequestDto create(BookingCreateDto bookingCreateDto, Long userId) {
@@ -41,94 +72,285 @@ public class BookingServiceImpl implements BookingService {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not fount " + userId));
 
-        if (!item.getAvailable()) {
-            throw new ValidationException("The item is not available for booking");
+        LocalDateTime now = LocalDateTime.now(clock);
+        Booking booking = toNewBooking(bookingCreateDto, booker, item, now);
+
+        return BookingMapper.toRequestDto(bookingIntervalIndex.withItemLock(item.getId(), intervals -> {
+            if (intervals.overlaps(booking.getStartDate(), booking.getEndDate())) {
+                throw new ConflictException("The item is already booked for the requested period");
+            }
+
+            Booking savedBooking = bookingRepository.save(booking);
+            intervals.add(BookingInterval.of(savedBooking));
+            AfterCommit.run(() -> itemCardCache.invalidate(item.getId()));
+
+            return savedBooking;
+        }), now);
+    }
+
+    @Override
+    public List<BookingRequestDto> createAll(List<BookingCreateDto> bookingCreateDtos, Long userId) {
+        if (bookingCreateDtos.size() > BATCH_MAX_SIZE) {
+            throw new ValidationException("Batch can not contain more than " + BATCH_MAX_SIZE + " bookings");
         }
 
-        bookingCreateDto.setStatus(BookingStatus.WAITING);
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not fount " + userId));
 
-        return BookingMapper.toRequestDto(
-                bookingRepository.save(
-                        BookingMapper.toEntity(bookingCreateDto, booker, item)
-                )
-        );
+        Set<Long> itemIds = bookingCreateDtos.stream()
+                .map(BookingCreateDto::getItemId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Booking> bookings = new ArrayList<>(bookingCreateDtos.size());
+
+        for (BookingCreateDto bookingCreateDto : bookingCreateDtos) {
+            if (bookingCreateDto.getStartDate().equals(bookingCreateDto.getEndDate())) {
+                throw new ValidationException("The start date of the booking is the same as the end date of the booking");
+            }
+
+            Item item = itemsById.get(bookingCreateDto.getItemId());
+
+            if (item == null) {
+                throw new NotFoundException("Item not found id: " + bookingCreateDto.getItemId());
+            }
+
+            bookings.add(toNewBooking(bookingCreateDto, booker, item, now));
+        }
+
+        List<Booking> savedBookings = bookingIntervalIndex.withItemLocks(itemIds, intervals -> {
+            for (Booking booking : bookings) {
+                ItemIntervals itemIntervals = intervals.get(booking.getItem().getId());
+
+                if (itemIntervals.overlaps(booking.getStartDate(), booking.getEndDate())) {
+                    throw new ConflictException("The item is already booked for the requested period");
+                }
+
+                itemIntervals.add(BookingInterval.of(booking));
+            }
+
+            return bookingRepository.saveAll(bookings);
+        });
+
+        AfterCommit.run(() -> itemIds.forEach(itemCardCache::invalidate));
+
+        return savedBookings.stream()
+                .map(booking -> BookingMapper.toRequestDto(booking, now))
+                .toList();
     }
 
     @Override
     public BookingRequestDto approve(Long userId, Long bookingId, Boolean approved) {
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithBookerAndItemById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not fount " + bookingId));
 
         if (!booking.getItem().getOwner().getId().equals(userId)) {
             throw new ValidationException("User is not the owner of this item id " + userId);
         }
 
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        if (booking.getStatus() == BookingStatus.EXPIRED) {
+            throw new ValidationException("Booking " + bookingId + " has expired");
         }
 
-        return BookingMapper.toRequestDto(bookingRepository.save(booking));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        return BookingMapper.toRequestDto(bookingIntervalIndex.withItemLock(booking.getItem().getId(), intervals -> {
+            if (approved) {
+                if (booking.getStatus() != BookingStatus.APPROVED
+                        && intervals.overlapsApproved(booking.getStartDate(), booking.getEndDate())) {
+                    throw new ConflictException("The item is already booked for the requested period");
+                }
+
+                booking.setStatus(BookingStatus.APPROVED);
+            } else {
+                booking.setStatus(BookingStatus.REJECTED);
+            }
+
+            booking.setPhase(BookingPhase.of(booking.getStatus(), booking.getStartDate(), booking.getEndDate(), now));
+
+            Booking savedBooking = saveApproval(booking);
+            intervals.remove(savedBooking.getId());
+            intervals.add(BookingInterval.of(savedBooking));
+            itemCardVersions.bump(List.of(savedBooking.getItem().getId()));
+            AfterCommit.run(() -> itemCardCache.invalidate(savedBooking.getItem().getId()));
+
+            if (savedBooking.getStatus() == BookingStatus.REJECTED) {
+                Long bookerId = savedBooking.getBooker().getId();
+                AfterCommit.run(() -> rentedItemsCache.forget(bookerId));
+            }
+
+            return savedBooking;
+        }), now);
+    }
+
+    private Booking saveApproval(Booking booking) {
+        try {
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance approved an overlapping booking that this instance's index has not seen
+            bookingIntervalIndex.invalidate(booking.getItem().getId());
+            throw new ConflictException("The item is already booked for the requested period");
+        }
     }
 
     @Override
     public BookingRequestDto get(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithBookerAndItemById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
 
         if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
             throw new ValidationException("The user cannot get access this booking as he is not a member of it");
         }
 
-        return BookingMapper.toRequestDto(booking);
+        return BookingMapper.toRequestDto(booking, LocalDateTime.now(clock));
     }
 
     @Override
-    public List<BookingRequestDto> getAllByBooker(Long userId, BookingState state) {
+    public boolean hasRented(Long userId, Long itemId) {
+        if (rentedItemsCache.isKnownRented(userId, itemId)) {
+            return true;
+        }
 
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not fount " + userId));
+        boolean rented = bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartDateLessThanEqual(userId,
+                itemId, BookingStatus.APPROVED, LocalDateTime.now(clock));
 
-        return bookingRepository.findAllByBookerId(userId)
-                .stream()
-                .map(BookingMapper::toRequestDto)
-                .filter(bookingRequestDto -> {
-                    if (state == BookingState.ALL) {
-                        return true;
-                    }
-
-                    return bookingRequestDto.getState() == state;
-                })
-                .sorted(Comparator.comparing(BookingRequestDto::getStartDate).reversed())
-                .toList();
+        if (rented) {
+            rentedItemsCache.addRented(userId, itemId);
+        }
+
+        return rented;
     }
 
     @Override
-    public List<BookingRequestDto> getAllByOwner(Long userId, BookingState state) {
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not fount " + userId));
+    public CursorPage<BookingRequestDto> getAllByBooker(Long userId, BookingState state, Integer from, Integer limit,
+                                                        String cursor) {
+        PageCursor after = PageCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Booking> bookings = findByBooker(userId, state, now, toPageable(from, limit, after), after);
 
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
+        return CursorPage.of(bookings, limit, BookingServiceImpl::cursorOf)
+                .map(booking -> BookingMapper.toRequestDto(booking, now));
+    }
 
-        if (items.isEmpty()) {
-            throw new NotFoundException("The user does not have the items");
+    private List<Booking> findByBooker(Long userId, BookingState state, LocalDateTime now, Pageable pageable,
+                                       PageCursor after) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not fount " + userId);
         }
 
-        return items.stream()
-                .map(item -> bookingRepository.findById(item.getOwner().getId()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(BookingMapper::toRequestDto)
-                .filter(bookingRequestDto -> {
-                    if (state == BookingState.ALL) {
-                        return true;
-                    }
+        return bookingRepository.findPage(BookingRole.BOOKER, userId, state, now, after, pageable);
+    }
+
+    @Override
+    public CursorPage<BookingRequestDto> getAllByOwner(Long userId, BookingState state, Integer from, Integer limit,
+                                                       String cursor) {
+        PageCursor after = PageCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Booking> bookings = findByOwner(userId, state, now, toPageable(from, limit, after), after);
 
-                    return bookingRequestDto.getState() == state;
-                })
-                .sorted(Comparator.comparing(BookingRequestDto::getStartDate).reversed())
-                .toList();
+        if (bookings.isEmpty()) {
+            if (!userRepository.existsById(userId)) {
+                throw new NotFoundException("User not fount " + userId);
+            }
+
+            if (!itemRepository.existsByOwnerId(userId)) {
+                throw new NotFoundException("The user does not have the items");
+            }
+        }
+
+        return CursorPage.of(bookings, limit, BookingServiceImpl::cursorOf)
+                .map(booking -> BookingMapper.toRequestDto(booking, now));
+    }
+
+    private List<Booking> findByOwner(Long userId, BookingState state, LocalDateTime now, Pageable pageable,
+                                      PageCursor after) {
+        return bookingRepository.findPage(BookingRole.OWNER, userId, state, now, after, pageable);
+    }
+
+    @Override
+    public BookingDatesDto getBookingDates(Long itemId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        return new BookingDatesDto(
+                itemId,
+                bookingRepository.findLastEndDateByItem(itemId, BookingStatus.APPROVED, now),
+                bookingRepository.findNextStartDateByItem(itemId, BookingStatus.APPROVED, now)
+        );
+    }
+
+    @Override
+    public Map<Long, BookingDatesDto> getBookingDates(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<BookingDatesDto> bookingDates = bookingRepository.findBookingDatesByItems(itemIds,
+                BookingStatus.APPROVED, LocalDateTime.now(clock));
+
+        Map<Long, BookingDatesDto> bookingDatesByItem = HashMap.newHashMap(bookingDates.size());
+
+        for (BookingDatesDto dates : bookingDates) {
+            bookingDatesByItem.put(dates.getItemId(), dates);
+        }
+
+        return bookingDatesByItem;
     }
+
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<FreeSlotDto> freeSlots = new ArrayList<>();
+        LocalDateTime cursor = from;
+
+        for (BookingInterval interval : bookingRepository.findIntervalsInWindow(itemId, BookingStatus.APPROVED,
+                from, to)) {
+            if (interval.start().isAfter(cursor)) {
+                freeSlots.add(new FreeSlotDto(cursor, interval.start()));
+            }
+
+            if (interval.end().isAfter(cursor)) {
+                cursor = interval.end();
+            }
+        }
+
+        if (cursor.isBefore(to)) {
+            freeSlots.add(new FreeSlotDto(cursor, to));
+        }
+
+        return freeSlots;
+    }
+
+    private Booking toNewBooking(BookingCreateDto bookingCreateDto, User booker, Item item, LocalDateTime now) {
+        if (!item.getAvailable()) {
+            throw new ValidationException("The item is not available for booking");
+        }
+
+        bookingCreateDto.setStatus(BookingStatus.WAITING);
+
+        return BookingMapper.toEntity(bookingCreateDto, booker, item, now);
+    }
+
+    private Pageable toPageable(Integer from, Integer limit, PageCursor after) {
+        if (from < 0) {
+            throw new ValidationException("Parameter from can not be negative");
+        }
+
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Parameter limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (after != null && from > 0) {
+            throw new ValidationException("Parameters from and cursor can not be combined");
+        }
+
+        return new OffsetPageRequest(from, limit);
+    }
+
+    private static PageCursor cursorOf(Booking booking) {
+        return new PageCursor(booking.getStartDate().toString(), booking.getId());
+    }
+
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingListRepository {
+
+    /**
+     * Page of the bookings of {@code userId} on the given {@code role} side in {@code state} at {@code now},
+     * ordered by {@code (startDate DESC, id DESC)}. With {@code after} the page starts right behind that position.
+     */
+    List<Booking> findPage(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                           PageCursor after, Pageable pageable);
+}
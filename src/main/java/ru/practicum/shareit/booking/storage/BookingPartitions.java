@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the PostgreSQL {@code bookings} table list-partitioned by the {@code archived} flag: {@code bookings_hot}
+ * holds everything still in play, {@code bookings_archive} holds long-finished bookings and is itself
+ * range-partitioned by the year of {@code start_date}. Queries that filter on {@code archived = FALSE} are pruned
+ * to the hot partition at plan time.
+ *
+ * <p>{@code schema.sql} has to stay a plain list of idempotent statements, so it only creates an ordinary table.
+ * On the first start that table is renamed into the hot partition and a partitioned parent is put on top of it,
+ * without copying a single row. Other databases keep the ordinary table and rely on the flag alone.
+ *
+ * <p>The hot partition also carries the exclusion constraint that keeps two APPROVED bookings of one item from
+ * overlapping. {@code BookingIntervalIndex} only knows about the writes of its own instance, so this constraint is
+ * what holds when several instances approve bookings of the same item at once. Archived bookings ended long ago and
+ * can not collide with a new approval, so the archive partitions go without it.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class BookingPartitions implements InitializingBean {
+    private static final String ARCHIVE = "bookings_archive";
+    private static final String OVERLAP_GUARD = "excl_bookings_approved_overlap";
+
+    private static final List<String> CONVERSION = List.of(
+            "ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS",
+            "ALTER TABLE bookings RENAME TO bookings_hot",
+            "CREATE TABLE bookings (LIKE bookings_hot INCLUDING DEFAULTS) PARTITION BY LIST (archived)",
+            "ALTER TABLE bookings ADD CONSTRAINT pk_bookings_partitioned PRIMARY KEY (id, archived)",
+            "ALTER TABLE bookings_hot ADD CONSTRAINT chk_bookings_hot CHECK (archived = FALSE)",
+            "ALTER TABLE bookings ATTACH PARTITION bookings_hot FOR VALUES IN (FALSE)",
+            "CREATE TABLE bookings_archive PARTITION OF bookings FOR VALUES IN (TRUE) PARTITION BY RANGE (start_date)",
+            "ALTER TABLE bookings_archive ADD CONSTRAINT fk_archive_booker "
+                    + "FOREIGN KEY (booker_id) REFERENCES users(id)",
+            "ALTER TABLE bookings_archive ADD CONSTRAINT fk_archive_item "
+                    + "FOREIGN KEY (item_id) REFERENCES items(id)",
+            "CREATE INDEX idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC, id DESC)",
+            "CREATE INDEX idx_bookings_archive_item_start ON bookings_archive (item_id, start_date DESC, id DESC)",
+            "CREATE INDEX idx_bookings_archive_booker_item_status_start "
+                    + "ON bookings_archive (booker_id, item_id, status, start_date)",
+            "CREATE INDEX idx_bookings_archive_item_status_end ON bookings_archive (item_id, status, end_date)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean partitioned;
+
+    public BookingPartitions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+
+        if (!isBookingsPartitioned()) {
+            convert();
+        }
+
+        partitioned = true;
+        ensureOverlapGuard();
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * Creates the yearly archive partition for {@code year} unless it already exists. There is deliberately no
+     * default partition: archiving a row whose year has no partition fails loudly instead of piling rows up in a
+     * catch-all that would later block splitting the range off.
+     */
+    public void ensureArchivePartition(int year) {
+        String partition = ARCHIVE + "_" + year;
+
+        if (!partitioned || Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+        }
+
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%d-01-01') TO ('%d-01-01')",
+                partition, ARCHIVE, year, year + 1));
+        log.info("Created archive partition {}", partition);
+    }
+
+    /**
+     * Takes the exclusive lock only when the table still has to be converted, so a regular restart does not stall
+     * the bookings traffic of the instances already running. The check is repeated under the lock because another
+     * instance may have finished the conversion in the meantime.
+     */
+    private void convert() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE bookings IN ACCESS EXCLUSIVE MODE");
+
+            if (!isBookingsPartitioned()) {
+                CONVERSION.forEach(jdbcTemplate::execute);
+                log.info("Bookings table converted into hot and archive partitions");
+            }
+        });
+    }
+
+    private void ensureOverlapGuard() {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, OVERLAP_GUARD))) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("ALTER TABLE bookings_hot ADD CONSTRAINT " + OVERLAP_GUARD + " "
+                    + "EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) "
+                    + "WHERE (status = 'APPROVED')");
+            log.info("Added the overlap guard on approved bookings");
+        } catch (DataAccessException e) {
+            log.warn("Approved bookings already overlap, the overlap guard is not installed: {}", e.getMessage());
+        }
+    }
+
+    private boolean isBookingsPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('bookings'))",
+                Boolean.class));
+    }
+}
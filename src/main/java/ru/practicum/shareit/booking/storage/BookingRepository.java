@@ -1,12 +1,140 @@
 package ru.practicum.shareit.booking.storage;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingDatesDto;
+import ru.practicum.shareit.booking.interval.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerId(Long userId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingListRepository {
+
+    @EntityGraph(attributePaths = {"booker", "item"})
+    Optional<Booking> findWithBookerAndItemById(Long bookingId);
+
+    boolean existsByBookerIdAndItemIdAndStatusAndStartDateLessThanEqual(Long bookerId, Long itemId,
+                                                                        BookingStatus status, LocalDateTime now);
+
+    @Query("SELECT MAX(b.endDate) FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = :status " +
+            "AND b.endDate < :now")
+    LocalDateTime findLastEndDateByItem(@Param("itemId") Long itemId,
+                                        @Param("status") BookingStatus status,
+                                        @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(b.startDate) FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = :status " +
+            "AND b.archived = FALSE " +
+            "AND b.startDate > :now")
+    LocalDateTime findNextStartDateByItem(@Param("itemId") Long itemId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDatesDto(b.item.id, " +
+            "MAX(CASE WHEN b.endDate < :now THEN b.endDate END), " +
+            "MIN(CASE WHEN b.startDate > :now THEN b.startDate END)) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "GROUP BY b.item.id")
+    List<BookingDatesDto> findBookingDatesByItems(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("status") BookingStatus status,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.booking.interval.BookingInterval(b.id, b.startDate, b.endDate, b.status) " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses " +
+            "AND b.archived = FALSE " +
+            "AND b.endDate > :now")
+    List<BookingInterval> findIntervalsByItem(@Param("itemId") Long itemId,
+                                              @Param("statuses") Collection<BookingStatus> statuses,
+                                              @Param("now") LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.booking.interval.BookingInterval(b.id, b.startDate, b.endDate, b.status) " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = :status " +
+            "AND b.startDate < :to AND b.endDate > :from " +
+            "ORDER BY b.startDate")
+    List<BookingInterval> findIntervalsInWindow(@Param("itemId") Long itemId,
+                                                @Param("status") BookingStatus status,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.booker " +
+            "JOIN FETCH b.item i " +
+            "WHERE i.owner.id = :ownerId " +
+            "AND (:from IS NULL OR b.startDate >= :from) " +
+            "AND (:to IS NULL OR b.startDate < :to) " +
+            "ORDER BY b.startDate, b.id")
+    Stream<Booking> streamAllByOwner(@Param("ownerId") Long ownerId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT id FROM bookings " +
+            "WHERE archived = FALSE AND phase = :phase AND start_date < :now " +
+            "ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockStartedIdsByPhase(@Param("phase") String phase,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM bookings " +
+            "WHERE archived = FALSE AND phase = :phase AND end_date <= :now " +
+            "ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockEndedIdsByPhase(@Param("phase") String phase,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.phase = :phase WHERE b.id IN :ids")
+    int updateStatusAndPhase(@Param("ids") Collection<Long> ids,
+                             @Param("status") BookingStatus status,
+                             @Param("phase") BookingPhase phase);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = :phase WHERE b.id IN :ids")
+    int updatePhase(@Param("ids") Collection<Long> ids,
+                    @Param("phase") BookingPhase phase);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findItemIdsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM bookings " +
+            "WHERE archived = FALSE AND phase IN ('PAST', 'REJECTED') AND end_date < :cutoff " +
+            "ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff,
+                                 @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT YEAR(b.startDate) FROM Booking b WHERE b.id IN :ids")
+    List<Integer> findStartYearsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.archived = TRUE WHERE b.id IN :ids")
+    int archive(@Param("ids") Collection<Long> ids);
 }
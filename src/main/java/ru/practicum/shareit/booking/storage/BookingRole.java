@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.storage;
+
+/**
+ * Side of a booking a list is requested for, along with the path the list query filters on.
+ */
+public enum BookingRole {
+    BOOKER("b.booker.id"),
+    OWNER("i.owner.id");
+
+    private final String userPath;
+
+    BookingRole(String userPath) {
+        this.userPath = userPath;
+    }
+
+    String userPath() {
+        return userPath;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.gate.enabled", havingValue = "true")
+public class ConnectionGateConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int permits = environment.getProperty("shareit.datasource.gate.permits", Integer.class, poolSize);
+        Duration acquireTimeout = environment.getProperty("shareit.datasource.gate.acquire-timeout",
+                Duration.class, Duration.ofSeconds(30));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionGateDataSource)) {
+                    return new ConnectionGateDataSource(dataSource, permits, acquireTimeout);
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionGateMetrics(DataSource dataSource) throws SQLException {
+        ConnectionGateDataSource gate = dataSource.unwrap(ConnectionGateDataSource.class);
+
+        return registry -> {
+            Gauge.builder("shareit.datasource.gate.available", gate, ConnectionGateDataSource::availablePermits)
+                    .description("Connection gate permits currently free")
+                    .register(registry);
+            Gauge.builder("shareit.datasource.gate.waiting", gate, ConnectionGateDataSource::waitingThreads)
+                    .description("Threads parked in front of the connection pool")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.etag;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags driven by {@code @Version} columns. A tag is {@code "<version>"}, or
+ * {@code "<version>-<related version>"} when the representation also depends on other rows (comments, booking
+ * dates) whose writes bump a counter of their own. Tags are built from versions only, so answering a conditional
+ * request never needs the representation itself. {@code If-Match} only looks at the version part: it guards edits
+ * of the entity itself, not of everything shown next to it.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(long version, long relatedVersion) {
+        return "\"" + version + "-" + relatedVersion + "\"";
+    }
+
+    /**
+     * Returns the versions listed in an {@code If-Match} header, or {@code null} when the header is absent or
+     * {@code *}. The header may list several tags separated by commas; the request goes ahead when any of them
+     * matches. Weak tags never match, as RFC 9110 requires strong comparison for {@code If-Match}, so a header of
+     * weak tags only yields an empty list.
+     */
+    public static List<Long> ifMatchVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        List<Long> versions = new ArrayList<>();
+        int position = skipSeparators(ifMatch, 0);
+
+        if (position == ifMatch.length()) {
+            throw new ValidationException("Invalid If-Match header");
+        }
+
+        while (position < ifMatch.length()) {
+            boolean weak = ifMatch.startsWith("W/", position);
+            int start = weak ? position + 2 : position;
+            int end = start < ifMatch.length() ? ifMatch.indexOf('"', start + 1) : -1;
+
+            if (end < 0 || ifMatch.charAt(start) != '"') {
+                throw new ValidationException("Invalid If-Match header");
+            }
+
+            if (!weak) {
+                versions.add(version(ifMatch.substring(start + 1, end)));
+            }
+
+            position = skipSeparators(ifMatch, end + 1);
+        }
+
+        return versions;
+    }
+
+    private static int skipSeparators(String header, int position) {
+        while (position < header.length()
+                && (header.charAt(position) == ',' || Character.isWhitespace(header.charAt(position)))) {
+            position++;
+        }
+
+        return position;
+    }
+
+    private static long version(String tag) {
+        int separator = tag.indexOf('-');
+
+        try {
+            return Long.parseLong(separator < 0 ? tag : tag.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid If-Match header");
+        }
+    }
+}
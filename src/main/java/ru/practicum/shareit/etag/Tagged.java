@@ -0,0 +1,7 @@
+package ru.practicum.shareit.etag;
+
+/**
+ * A response body together with the entity tag of the very state it was built from.
+ */
+public record Tagged<T>(T body, String eTag) {
+}
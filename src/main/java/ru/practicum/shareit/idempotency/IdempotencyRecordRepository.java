@@ -0,0 +1,34 @@
+package ru.practicum.shareit.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, request_hash, created_at) " +
+            "VALUES (:id, :requestHash, :createdAt)", nativeQuery = true)
+    int claim(@Param("id") String id,
+              @Param("requestHash") String requestHash,
+              @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.response = :response WHERE r.id = :id")
+    int complete(@Param("id") String id,
+                 @Param("response") String response);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.createdAt < :expiredBefore")
+    int deleteExpired(@Param("id") String id,
+                      @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :expiredBefore")
+    int deleteExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
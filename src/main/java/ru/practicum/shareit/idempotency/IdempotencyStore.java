@@ -0,0 +1,264 @@
+package ru.practicum.shareit.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Answers a request carrying an already seen {@code Idempotency-Key} with the stored response instead of running
+ * it again. Keys are scoped by the caller (endpoint and user), so different users can not collide.
+ *
+ * <ul>
+ *     <li>Completed responses are kept in a TTL-evicted in-memory cache and, as JSON, in {@code idempotency_keys},
+ *     so a retry that lands on another instance or after a restart is still replayed.</li>
+ *     <li>The claim row, the business write and the stored response share one transaction, so a committed
+ *     response always comes with its write and a claim never outlives a request that did not commit. There is
+ *     nothing to take over after a crash: the claim is rolled back with the rest.</li>
+ *     <li>Concurrent duplicates on one instance wait for the in-flight request and share its outcome, exceptions
+ *     included. A duplicate on another instance blocks on the uncommitted claim row and then replays the stored
+ *     response, or gets 409 when the database gives up waiting.</li>
+ *     <li>A failed request rolls its claim back, so the client can fix the request and retry with the same key.</li>
+ *     <li>Requests are compared by the SHA-256 of their JSON form; reusing a key for a different body is a 409.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String IN_PROGRESS = "A request with this Idempotency-Key is still being processed";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter requestWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter memoryReplays;
+    private final Counter databaseReplays;
+    private final Counter coalescedReplays;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            Clock clock,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${shareit.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${shareit.idempotency.lock-timeout:PT1M}") Duration lockTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.requestWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.memoryReplays = replayCounter(meterRegistry, "memory");
+        this.databaseReplays = replayCounter(meterRegistry, "database");
+        this.coalescedReplays = replayCounter(meterRegistry, "in-flight");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotentResponses");
+    }
+
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must contain 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = scope + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse stored = responses.getIfPresent(id);
+
+        if (stored != null) {
+            memoryReplays.increment();
+            return stored.replay(requestHash, responseType);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, execution);
+
+        if (running != null) {
+            coalescedReplays.increment();
+            return await(running).replay(requestHash, responseType);
+        }
+
+        try {
+            StoredResponse response = loadOrRun(id, requestHash, responseType, action);
+            responses.put(id, response);
+            execution.complete(response);
+            return response.replay(requestHash, responseType);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now(clock).minus(ttl);
+        int deleted = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(expiredBefore));
+
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> StoredResponse loadOrRun(String id, String requestHash, Class<T> responseType, Supplier<T> action) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Optional<StoredResponse> stored = load(id, now, responseType);
+
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        StoredResponse response = transactionTemplate.execute(status -> {
+            try {
+                idempotencyRecordRepository.claim(id, requestHash, now);
+            } catch (DataIntegrityViolationException e) {
+                status.setRollbackOnly();
+                return null;
+            } catch (PessimisticLockingFailureException e) {
+                throw new ConflictException(IN_PROGRESS);
+            }
+
+            T body = action.get();
+            idempotencyRecordRepository.complete(id, write(body));
+
+            return new StoredResponse(requestHash, body);
+        });
+
+        if (response != null) {
+            return response;
+        }
+
+        // The claim waited for another instance running the same key, and that instance committed its response.
+        return load(id, now, responseType).orElseThrow(() -> new ConflictException(IN_PROGRESS));
+    }
+
+    private <T> Optional<StoredResponse> load(String id, LocalDateTime now, Class<T> responseType) {
+        LocalDateTime expiredBefore = now.minus(ttl);
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(id);
+
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord record = existing.get();
+
+        if (record.getCreatedAt().isBefore(expiredBefore)) {
+            transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(id, expiredBefore));
+            return Optional.empty();
+        }
+
+        databaseReplays.increment();
+        return Optional.of(new StoredResponse(record.getRequestHash(), read(record.getResponse(), responseType)));
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException(IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(IN_PROGRESS);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(requestWriter.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent request can not be hashed", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response can not be read", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent response can not be stored", e);
+        }
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("shareit.idempotency.replays")
+                .description("Requests answered with a stored response instead of being executed again")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record StoredResponse(String requestHash, Object body) {
+
+        <T> T replay(String requestHash, Class<T> responseType) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new ConflictException("Idempotency-Key has already been used for a different request");
+            }
+
+            return responseType.cast(body);
+        }
+    }
+}
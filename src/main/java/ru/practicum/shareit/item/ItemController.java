@@ -2,10 +2,21 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.idempotency.IdempotencyStore;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.QueryBudget;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,11 +25,27 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     public ItemRequestDto create(@Valid @RequestBody ItemCreateDto itemCreateDto,
-                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.create(itemCreateDto, userId);
+                                 @RequestHeader("X-Sharer-User-Id") Long userId,
+                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /items " + userId, idempotencyKey, itemCreateDto,
+                ItemRequestDto.class, () -> itemService.create(itemCreateDto, userId));
+    }
+
+    @PostMapping("/batch")
+    public List<ItemRequestDto> createAll(@Valid @RequestBody List<ItemCreateDto> itemCreateDtos,
+                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemService.createAll(itemCreateDtos, userId);
+    }
+
+    @PostMapping(path = "/import", consumes = "application/x-ndjson")
+    public ItemImportResultDto importItems(InputStream inputStream,
+                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemImportService.importItems(inputStream, userId);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -29,25 +56,56 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ItemRequestDto update(@RequestBody ItemCreateDto itemCreateDto,
-                                 @RequestHeader("X-Sharer-User-Id") Long userId,
-                                 @PathVariable Long itemId) {
-        return itemService.update(itemCreateDto, itemId, userId);
+    public ResponseEntity<ItemRequestDto> update(@RequestBody ItemCreateDto itemCreateDto,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @PathVariable Long itemId,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                 String ifMatch) {
+        Tagged<ItemRequestDto> updated = itemService.update(itemCreateDto, itemId, userId,
+                ETags.ifMatchVersions(ifMatch));
+
+        return ResponseEntity.ok().eTag(updated.eTag()).body(updated.body());
     }
 
     @GetMapping("/{itemId}")
-    public ItemRequestWithBookingDateDto get(@PathVariable Long itemId) {
+    @QueryBudget(4)
+    public ItemRequestWithBookingDateDto get(@PathVariable Long itemId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(itemService.getETag(itemId))) {
+            return null;
+        }
+
         return itemService.get(itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
+    @PostMapping("/availability")
+    public List<Long> getFreeItemIds(@Valid @RequestBody ItemAvailabilityRequestDto availabilityRequestDto) {
+        return itemService.getFreeItemIds(availabilityRequestDto);
+    }
+
     @GetMapping
-    public List<ItemRequestWithCommentsDto> getAllUserItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.getAllUserItems(userId);
+    @QueryBudget(4)
+    public ResponseEntity<List<ItemRequestWithBookingDateDto>> getAllUserItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "100") Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return itemService.getAllUserItems(userId, limit, cursor).toResponseEntity();
     }
 
     @GetMapping("/search")
-    public List<ItemRequestDto> search(@RequestParam String text) {
-        return itemService.search(text);
+    @QueryBudget(1)
+    public ResponseEntity<List<ItemRequestDto>> search(@RequestParam String text,
+                                                       @RequestParam(defaultValue = "20") Integer limit,
+                                                       @RequestParam(required = false) String cursor) {
+        return itemService.search(text, limit, cursor).toResponseEntity();
     }
 
     @DeleteMapping("/{itemId}")
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.ItemRequestWithBookingDateDto;
+
+/**
+ * An assembled item card together with the entity tag computed from the very rows it was built from, so a cached
+ * card and its tag can never disagree.
+ */
+public record ItemCard(ItemRequestWithBookingDateDto body, String eTag) {
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of fully assembled item cards and their entity tags. Entries expire quickly because the booking
+ * dates on a card depend on the current time; writes that change a card invalidate it explicitly.
+ */
+@Component
+public class ItemCardCache {
+    private final Cache<Long, ItemCard> cache;
+
+    public ItemCardCache(MeterRegistry meterRegistry,
+                         @Value("${shareit.item-card-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit.item-card-cache.ttl:PT30S}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemCards");
+    }
+
+    public ItemCard get(Long itemId, Function<Long, ItemCard> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void invalidate(Long itemId) {
+        cache.invalidate(itemId);
+    }
+}
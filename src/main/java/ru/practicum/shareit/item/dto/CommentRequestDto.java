@@ -3,8 +3,6 @@ package ru.practicum.shareit.item.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 
@@ -18,10 +16,6 @@ public class CommentRequestDto {
 
     private String authorName;
 
-    private User author;
-
-    private Item item;
-
     @JsonProperty("created")
     private LocalDateTime commentDate;
 }
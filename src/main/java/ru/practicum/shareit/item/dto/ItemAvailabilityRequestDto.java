@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemAvailabilityRequestDto {
+    @NotEmpty(message = "ItemIds can not be empty")
+    private List<Long> itemIds;
+
+    @NotNull(message = "From can not be null")
+    private LocalDateTime from;
+
+    @NotNull(message = "To can not be null")
+    private LocalDateTime to;
+}
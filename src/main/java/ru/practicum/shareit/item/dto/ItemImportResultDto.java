@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemImportResultDto {
+    private long imported;
+
+    private long failed;
+
+    private List<ItemImportErrorDto> errors;
+}
@@ -14,7 +14,8 @@ public class CommentMapper {
                 commentCreateDto.getText(),
                 user,
                 item,
-                commentCreateDto.getCommentDate()
+                commentCreateDto.getCommentDate(),
+                0L
         );
 
     }
@@ -24,8 +25,6 @@ public class CommentMapper {
                 comment.getId(),
                 comment.getText(),
                 comment.getAuthor().getName(),
-                comment.getAuthor(),
-                comment.getItem(),
                 comment.getCommentDate()
         );
     }
@@ -16,7 +16,9 @@ public class ItemMapper {
                 owner,
                 itemCreateDto.getName(),
                 itemCreateDto.getDescription(),
-                itemCreateDto.getAvailable()
+                itemCreateDto.getAvailable(),
+                0L,
+                0L
         );
     }
 
@@ -29,17 +31,6 @@ public class ItemMapper {
         );
     }
 
-    public static ItemRequestWithCommentsDto toItemWithCommentsDto(Item item, List<CommentRequestDto> comments) {
-
-        return new ItemRequestWithCommentsDto(
-                comments,
-                item.getId(),
-                item.getName(),
-                item.getDescription(),
-                item.getAvailable()
-        );
-    }
-
     public static ItemRequestWithBookingDateDto toItemWithBookingDateDto(Item item,
                                                                          List<CommentRequestDto> comments,
                                                                          LocalDateTime lastBookingDate,
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+
+public interface ItemSearchEngine {
+    /**
+     * Returns at most {@code limit} matching available items positioned strictly after {@code after},
+     * or from the start when {@code after} is {@code null}.
+     */
+    CursorPage<Item> search(String text, int limit, PageCursor after);
+
+    default void index(Item item) {
+    }
+
+    default void remove(Long itemId) {
+    }
+
+    static String containsPattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return "%" + escaped + "%";
+    }
+}
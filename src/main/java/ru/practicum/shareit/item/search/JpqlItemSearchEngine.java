@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "jpql", matchIfMissing = true)
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+
+    private static final String SEARCH_QUERY = "SELECT i FROM Item i " +
+            "WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+            "AND i.id > :afterId " +
+            "ORDER BY i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public CursorPage<Item> search(String text, int limit, PageCursor after) {
+        List<Item> items = entityManager.createQuery(SEARCH_QUERY, Item.class)
+                .setParameter("pattern", ItemSearchEngine.containsPattern(text))
+                .setParameter("afterId", after == null ? 0L : after.id())
+                .setMaxResults(limit)
+                .getResultList();
+
+        return CursorPage.of(items, limit, item -> PageCursor.ofId(item.getId()));
+    }
+}
@@ -0,0 +1,284 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over item names and descriptions.
+ *
+ * <p>Trigram posting lists narrow the candidates, every candidate is then verified with a plain substring
+ * check, so results match the LIKE semantics of the database engines. Only the requested page of ids is
+ * hydrated from {@link ItemRepository}.
+ *
+ * <p>The index lives in this JVM and only sees writes made through this instance, so it is meant for a single
+ * instance deployment. Behind a load balancer the other instances would keep serving stale results until their
+ * next restart; use the {@code postgres} engine there.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "ngram")
+public class NgramItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private final ItemRepository itemRepository;
+    private final Timer queryTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final NavigableMap<Long, IndexedItem> documents = new TreeMap<>();
+    private long estimatedBytes;
+
+    public NgramItemSearchEngine(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.queryTimer = Timer.builder("shareit.search.index.query")
+                .description("Time spent answering a search from the in-memory index")
+                .register(meterRegistry);
+
+        Gauge.builder("shareit.search.index.items", this, NgramItemSearchEngine::indexedItems)
+                .description("Items held by the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("shareit.search.index.bytes.per.item", this, NgramItemSearchEngine::bytesPerItem)
+                .description("Estimated heap used by the in-memory search index per item")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int pageNumber = 0;
+        Page<Item> page;
+
+        do {
+            page = itemRepository.findAll(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            page.forEach(this::index);
+        } while (page.hasNext());
+
+        log.info("Search index built for {} items", indexedItems());
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedItem indexedItem = IndexedItem.of(item);
+
+        lock.writeLock().lock();
+        try {
+            unindex(item.getId());
+
+            for (long gram : indexedItem.grams()) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(item.getId());
+            }
+
+            documents.put(item.getId(), indexedItem);
+            estimatedBytes += indexedItem.estimatedBytes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            unindex(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CursorPage<Item> search(String text, int limit, PageCursor after) {
+        long afterId = after == null ? 0L : after.id();
+        List<Long> ids = queryTimer.record(() -> findIds(text.toLowerCase(), limit, afterId));
+
+        if (ids.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Map<Long, Item> itemsById = new HashMap<>();
+        itemRepository.findAllById(ids).forEach(item -> itemsById.put(item.getId(), item));
+
+        List<Item> items = ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // The cursor follows the index, so an item deleted between the two reads does not stall paging
+        return ids.size() < limit
+                ? new CursorPage<>(items, null)
+                : new CursorPage<>(items, PageCursor.ofId(ids.get(ids.size() - 1)).encode());
+    }
+
+    private List<Long> findIds(String query, int limit, long afterId) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+        long[] queryGrams = trigrams(query);
+
+        lock.readLock().lock();
+        try {
+            if (queryGrams.length == 0) {
+                for (Map.Entry<Long, IndexedItem> entry : documents.tailMap(afterId, false).entrySet()) {
+                    if (!entry.getValue().matches(query)) {
+                        continue;
+                    }
+
+                    ids.add(entry.getKey());
+
+                    if (ids.size() == limit) {
+                        break;
+                    }
+                }
+
+                return ids;
+            }
+
+            PostingList[] lists = new PostingList[queryGrams.length];
+
+            for (int i = 0; i < queryGrams.length; i++) {
+                PostingList list = postings.get(queryGrams[i]);
+
+                if (list == null || list.isEmpty()) {
+                    return ids;
+                }
+
+                lists[i] = list;
+            }
+
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+            PostingList smallest = lists[0];
+
+            for (int i = smallest.indexAfter(afterId); i < smallest.size() && ids.size() < limit; i++) {
+                long id = smallest.get(i);
+
+                if (!containsInAll(lists, id) || !documents.get(id).matches(query)) {
+                    continue;
+                }
+
+                ids.add(id);
+            }
+
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(Long itemId) {
+        IndexedItem previous = documents.remove(itemId);
+
+        if (previous == null) {
+            return;
+        }
+
+        for (long gram : previous.grams()) {
+            PostingList list = postings.get(gram);
+
+            if (list == null) {
+                continue;
+            }
+
+            list.remove(itemId);
+
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+
+        estimatedBytes -= previous.estimatedBytes();
+    }
+
+    private int indexedItems() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double bytesPerItem() {
+        lock.readLock().lock();
+        try {
+            return documents.isEmpty() ? 0 : (double) estimatedBytes / documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsInAll(PostingList[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long[] trigrams(String... texts) {
+        int capacity = 0;
+
+        for (String text : texts) {
+            capacity += Math.max(0, text.length() - GRAM_LENGTH + 1);
+        }
+
+        long[] grams = new long[capacity];
+        int count = 0;
+
+        for (String text : texts) {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                grams[count++] = ((long) text.charAt(i) << 32)
+                        | ((long) text.charAt(i + 1) << 16)
+                        | text.charAt(i + 2);
+            }
+        }
+
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    private record IndexedItem(String name, String description, boolean available, long[] grams) {
+
+        static IndexedItem of(Item item) {
+            String name = item.getName() == null ? "" : item.getName().toLowerCase();
+            String description = item.getDescription() == null ? "" : item.getDescription().toLowerCase();
+
+            return new IndexedItem(name, description, Boolean.TRUE.equals(item.getAvailable()),
+                    trigrams(name, description));
+        }
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        long estimatedBytes() {
+            return ENTRY_OVERHEAD_BYTES
+                    + 2L * (name.length() + description.length())
+                    + 2L * Long.BYTES * grams.length;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.List;
+
+/**
+ * Full-text search over the generated {@code items.search_vector} column (GIN index),
+ * with a {@code pg_trgm} backed ILIKE fallback for substring matches.
+ *
+ * <p>Results are ordered by {@code (rank DESC, id)} and the cursor carries both, so the next page seeks past the
+ * last row instead of re-ranking and skipping everything before it.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private static final String RANKED_QUERY = "SELECT * FROM (" +
+            "SELECT i.*, ts_rank(i.search_vector, q) AS rank " +
+            "FROM items i, plainto_tsquery('simple', :text) q " +
+            "WHERE i.available = TRUE " +
+            "AND (i.search_vector @@ q " +
+            "OR i.name ILIKE :pattern ESCAPE '\\' " +
+            "OR i.description ILIKE :pattern ESCAPE '\\')) r ";
+
+    private static final String FIRST_PAGE_QUERY = RANKED_QUERY +
+            "ORDER BY r.rank DESC, r.id " +
+            "LIMIT :limit";
+
+    private static final String NEXT_PAGE_QUERY = RANKED_QUERY +
+            "WHERE r.rank < :afterRank OR (r.rank = :afterRank AND r.id > :afterId) " +
+            "ORDER BY r.rank DESC, r.id " +
+            "LIMIT :limit";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CursorPage<Item> search(String text, int limit, PageCursor after) {
+        NativeQuery<Object[]> query = entityManager
+                .createNativeQuery(after == null ? FIRST_PAGE_QUERY : NEXT_PAGE_QUERY)
+                .unwrap(NativeQuery.class)
+                .addEntity("r", Item.class)
+                .addScalar("rank", StandardBasicTypes.FLOAT);
+
+        query.setParameter("text", text)
+                .setParameter("pattern", ItemSearchEngine.containsPattern(text))
+                .setParameter("limit", limit);
+
+        if (after != null) {
+            query.setParameter("afterRank", parseRank(after))
+                    .setParameter("afterId", after.id());
+        }
+
+        List<Object[]> rows = query.getResultList();
+
+        return CursorPage.of(rows, limit, row -> new PageCursor(String.valueOf(row[1]), ((Item) row[0]).getId()))
+                .map(row -> (Item) row[0]);
+    }
+
+    private static Float parseRank(PageCursor after) {
+        try {
+            return Float.valueOf(after.sortKey());
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports items from an NDJSON stream. Lines are parsed one at a time and persisted in fixed-size chunks,
+ * each in its own transaction, with the persistence context cleared in between, so memory use does not
+ * depend on the size of the upload. A line longer than {@code max-line-length} characters is skipped and
+ * reported without being buffered, so a single huge line can not exhaust the heap either.
+ */
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int END_OF_STREAM = -1;
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader itemReader;
+    private final int maxLineLength;
+
+    public ItemImportServiceImpl(ItemRepository itemRepository,
+                                 UserRepository userRepository,
+                                 ItemSearchEngine itemSearchEngine,
+                                 EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${shareit.item-import.max-line-length:16384}") int maxLineLength) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.itemReader = objectMapper.readerFor(ItemCreateDto.class);
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public ItemImportResultDto importItems(InputStream inputStream, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+
+        User owner = userRepository.getReferenceById(userId);
+        ImportProgress progress = new ImportProgress();
+        List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            StringBuilder buffer = new StringBuilder();
+            long lineNumber = 0;
+            int length;
+
+            while ((length = readLine(reader, buffer)) != END_OF_STREAM) {
+                lineNumber++;
+
+                if (length > maxLineLength) {
+                    progress.fail(lineNumber, "Line is longer than " + maxLineLength + " characters");
+                    continue;
+                }
+
+                String line = buffer.toString();
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ItemCreateDto itemCreateDto;
+
+                try {
+                    itemCreateDto = itemReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    progress.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<ItemCreateDto>> violations = validator.validate(itemCreateDto);
+
+                if (!violations.isEmpty()) {
+                    progress.fail(lineNumber, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                itemCreateDto.setId(null);
+                chunk.add(ItemMapper.toItem(itemCreateDto, owner));
+                chunkLines.add(lineNumber);
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, chunkLines, progress);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the import stream", e);
+        }
+
+        flush(chunk, chunkLines, progress);
+
+        return new ItemImportResultDto(progress.imported, progress.failed, progress.errors);
+    }
+
+    /**
+     * Reads the next line into {@code line} and returns its full length, or {@code END_OF_STREAM}. Characters
+     * past {@code maxLineLength} are counted but not kept.
+     */
+    private int readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        boolean empty = true;
+        int next;
+
+        while ((next = reader.read()) != -1) {
+            if (next == '\n') {
+                return length;
+            }
+
+            empty = false;
+
+            if (next == '\r') {
+                continue;
+            }
+
+            if (length++ < maxLineLength) {
+                line.append((char) next);
+            }
+        }
+
+        return empty ? END_OF_STREAM : length;
+    }
+
+    private void flush(List<Item> chunk, List<Long> chunkLines, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Item> savedItems = transactionTemplate.execute(status -> {
+                List<Item> items = itemRepository.saveAll(chunk);
+                entityManager.flush();
+                return items;
+            });
+
+            savedItems.forEach(itemSearchEngine::index);
+            progress.imported += savedItems.size();
+        } catch (RuntimeException e) {
+            chunkLines.forEach(lineNumber -> progress.fail(lineNumber, "Could not save item: " + e.getMessage()));
+        } finally {
+            entityManager.clear();
+            chunk.clear();
+            chunkLines.clear();
+        }
+    }
+
+    private static final class ImportProgress {
+        private long imported;
+        private long failed;
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long lineNumber, String message) {
+            failed++;
+
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ItemImportErrorDto(lineNumber, message));
+            }
+        }
+    }
+}
@@ -1,21 +1,32 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemRequestDto create(ItemCreateDto itemCreateDto, Long userId);
 
+    List<ItemRequestDto> createAll(List<ItemCreateDto> itemCreateDtos, Long userId);
+
     CommentRequestDto createComment(CommentCreateDto commentDto, Long userId, Long itemId);
 
-    ItemRequestDto update(ItemCreateDto itemCreateDto, Long itemId, Long userId);
+    Tagged<ItemRequestDto> update(ItemCreateDto itemCreateDto, Long itemId, Long userId, List<Long> expectedVersions);
 
     ItemRequestWithBookingDateDto get(Long itemId);
 
+    String getETag(Long itemId);
+
     void delete(Long itemId);
 
-    List<ItemRequestWithCommentsDto> getAllUserItems(Long userId);
+    CursorPage<ItemRequestWithBookingDateDto> getAllUserItems(Long userId, Integer limit, String cursor);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<Long> getFreeItemIds(ItemAvailabilityRequestDto availabilityRequestDto);
 
-    List<ItemRequestDto> search(String text);
+    CursorPage<ItemRequestDto> search(String text, Integer limit, String cursor);
 }
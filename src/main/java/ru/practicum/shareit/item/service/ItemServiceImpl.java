@@ -1,41 +1,82 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.dto.BookingRequestDto;
-import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDatesDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.AfterCommit;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCard;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemCardVersions;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int BATCH_MAX_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final BookingService bookingService;
     private final UserRepository userRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemCardCache itemCardCache;
+    private final ItemCardVersions itemCardVersions;
 
     @Override
     public ItemRequestDto create(ItemCreateDto itemCreateDto, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return ItemMapper.toDto(itemRepository.save(ItemMapper.toItem(itemCreateDto, user)));
+        Item item = itemRepository.save(ItemMapper.toItem(itemCreateDto, user));
+        AfterCommit.run(() -> itemSearchEngine.index(item));
+
+        return ItemMapper.toDto(item);
+    }
+
+    @Override
+    public List<ItemRequestDto> createAll(List<ItemCreateDto> itemCreateDtos, Long userId) {
+        if (itemCreateDtos.size() > BATCH_MAX_SIZE) {
+            throw new ValidationException("Batch can not contain more than " + BATCH_MAX_SIZE + " items");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        List<Item> items = itemRepository.saveAll(itemCreateDtos.stream()
+                .map(itemCreateDto -> ItemMapper.toItem(itemCreateDto, user))
+                .toList());
+
+        AfterCommit.run(() -> items.forEach(itemSearchEngine::index));
+
+        return items.stream()
+                .map(ItemMapper::toDto)
+                .toList();
     }
 
     @Override
@@ -46,14 +87,7 @@ public class ItemServiceImpl implements ItemService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-
-        boolean isItemRentedByUser = bookingService.getAllByBooker(userId, BookingState.ALL)
-                .stream()
-                .anyMatch(bookingRequestDto -> bookingRequestDto.getBooker().getId().equals(userId)
-                        && bookingRequestDto.getItem().getId().equals(itemId)
-                        && (bookingRequestDto.getState() == BookingState.CURRENT
-                        || bookingRequestDto.getState() == BookingState.PAST)
-                );
+        boolean isItemRentedByUser = bookingService.hasRented(userId, itemId);
 
         if (!isItemRentedByUser) {
             throw new ValidationException("You have not rented this item");
@@ -63,11 +97,16 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = CommentMapper.toEntity(commentCreateDto, item, user);
 
-        return CommentMapper.toDto(commentRepository.save(comment));
+        CommentRequestDto savedComment = CommentMapper.toDto(commentRepository.save(comment));
+        itemCardVersions.bump(List.of(itemId));
+        AfterCommit.run(() -> itemCardCache.invalidate(itemId));
+
+        return savedComment;
     }
 
     @Override
-    public ItemRequestDto update(ItemCreateDto itemCreateDto, Long itemId, Long userId) {
+    public Tagged<ItemRequestDto> update(ItemCreateDto itemCreateDto, Long itemId, Long userId,
+                                         List<Long> expectedVersions) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
@@ -75,6 +114,11 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("User is not the owner of this item");
         }
 
+        if (expectedVersions != null && !expectedVersions.contains(item.getVersion())) {
+            throw new PreconditionFailedException("Item has been modified, its current version is "
+                    + item.getVersion());
+        }
+
         if (itemCreateDto.getName() != null) {
             item.setName(itemCreateDto.getName());
         }
@@ -87,62 +131,85 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemCreateDto.getAvailable());
         }
 
-        return ItemMapper.toDto(itemRepository.save(item));
+        Item updatedItem = itemRepository.save(item);
+        AfterCommit.run(() -> {
+            itemSearchEngine.index(updatedItem);
+            itemCardCache.invalidate(itemId);
+        });
+
+        return new Tagged<>(ItemMapper.toDto(updatedItem), eTagOf(updatedItem));
     }
 
     @Override
     public ItemRequestWithBookingDateDto get(Long itemId) {
+        return itemCardCache.get(itemId, this::assembleItemCard).body();
+    }
+
+    @Override
+    public String getETag(Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
-        LocalDateTime lastBookingDate = null;
-        LocalDateTime futureBookingDate = null;
-
-        List<BookingRequestDto> bookings = bookingService.getAllByOwner(item.getOwner().getId(), BookingState.ALL)
-                .stream()
-                .filter(bookingRequestDto -> BookingStatus.APPROVED.equals(bookingRequestDto.getStatus()))
-                .toList();
-
-        for (BookingRequestDto bookingRequestDto : bookings) {
-
-            if (bookingRequestDto.getState().equals(BookingState.FUTURE)) {
-                if (futureBookingDate == null || futureBookingDate.isBefore(bookingRequestDto.getStartDate())) {
-                    futureBookingDate = bookingRequestDto.getStartDate();
-                }
-            }
+        return eTagOf(item);
+    }
 
-            if (bookingRequestDto.getState().equals(BookingState.PAST)
-                    || bookingRequestDto.getState().equals(BookingState.CURRENT)) {
+    private ItemCard assembleItemCard(Long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
 
-                if (lastBookingDate == null || lastBookingDate.isAfter(bookingRequestDto.getEndDate())) {
-                    lastBookingDate = bookingRequestDto.getEndDate();
-                }
-            }
-        }
+        BookingDatesDto bookingDates = bookingService.getBookingDates(itemId);
 
         List<CommentRequestDto> comments = commentRepository.findAllByItemId(itemId)
                 .stream()
                 .map(CommentMapper::toDto)
                 .toList();
 
-        return ItemMapper.toItemWithBookingDateDto(item, comments, lastBookingDate, futureBookingDate);
+        ItemRequestWithBookingDateDto card = ItemMapper.toItemWithBookingDateDto(item, comments,
+                bookingDates.getLastBookingDate(), bookingDates.getNextBookingDate());
+
+        return new ItemCard(card, eTagOf(item));
     }
 
     @Override
-    public List<ItemRequestWithCommentsDto> getAllUserItems(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+    public CursorPage<ItemRequestWithBookingDateDto> getAllUserItems(Long userId, Integer limit, String cursor) {
+        validateLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
 
-        return itemRepository.findAllByOwnerId(userId).stream()
-                .map(item -> {
-                    List<CommentRequestDto> comments = commentRepository.findAllByItemId(item.getId())
-                            .stream()
-                            .map(CommentMapper::toDto)
-                            .toList();
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
 
-                    return ItemMapper.toItemWithCommentsDto(item, comments);
-                })
+        List<Item> items = itemRepository.findPageByOwner(userId, after == null ? 0L : after.id(),
+                PageRequest.of(0, limit));
+
+        if (items.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
                 .toList();
+
+        Map<Long, List<CommentRequestDto>> commentsByItem = HashMap.newHashMap(items.size());
+
+        for (Comment comment : commentRepository.findAllByItemIdIn(itemIds)) {
+            commentsByItem.computeIfAbsent(comment.getItem().getId(), id -> new ArrayList<>())
+                    .add(CommentMapper.toDto(comment));
+        }
+
+        Map<Long, BookingDatesDto> bookingDatesByItem = bookingService.getBookingDates(itemIds);
+
+        return CursorPage.of(items, limit, item -> PageCursor.ofId(item.getId()))
+                .map(item -> {
+                    BookingDatesDto bookingDates = bookingDatesByItem.get(item.getId());
+
+                    return ItemMapper.toItemWithBookingDateDto(
+                            item,
+                            commentsByItem.getOrDefault(item.getId(), List.of()),
+                            bookingDates == null ? null : bookingDates.getLastBookingDate(),
+                            bookingDates == null ? null : bookingDates.getNextBookingDate()
+                    );
+                });
     }
 
     @Override
@@ -152,17 +219,57 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.deleteById(itemId);
+        AfterCommit.run(() -> {
+            itemSearchEngine.remove(itemId);
+            itemCardCache.invalidate(itemId);
+        });
     }
 
     @Override
-    public List<ItemRequestDto> search(String text) {
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+
+        return new ItemAvailabilityDto(itemId, from, to, bookingService.getFreeSlots(itemId, from, to));
+    }
+
+    @Override
+    public List<Long> getFreeItemIds(ItemAvailabilityRequestDto availabilityRequestDto) {
+        validateWindow(availabilityRequestDto.getFrom(), availabilityRequestDto.getTo());
+
+        return itemRepository.findFreeItemIds(availabilityRequestDto.getItemIds(), BookingStatus.APPROVED,
+                availabilityRequestDto.getFrom(), availabilityRequestDto.getTo());
+    }
+
+    @Override
+    public CursorPage<ItemRequestDto> search(String text, Integer limit, String cursor) {
+        validateLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+
         if (text == null || text.isBlank()) {
-            return List.of();
+            return new CursorPage<>(List.of(), null);
         }
 
-        return itemRepository.searchByText(text).stream()
-                .filter(Item::getAvailable)
-                .map(ItemMapper::toDto)
-                .toList();
+        return itemSearchEngine.search(text, limit, after)
+                .map(ItemMapper::toDto);
+    }
+
+    private void validateLimit(Integer limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Parameter limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("The start of the window must be before its end");
+        }
+    }
+
+    private static String eTagOf(Item item) {
+        return ETags.of(item.getVersion(), item.getCardVersion());
     }
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.storage;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.AfterCommit;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bumps {@code items.card_version} whenever a write changes what the item card shows besides the item itself: a
+ * comment, an approval or rejection, or a booking crossing its start or end. Together with the item's
+ * {@code @Version} it makes the card's entity tag, so a conditional GET is answered without assembling the card.
+ *
+ * <p>The update goes through JDBC on the caller's transaction rather than a JPQL bulk update, which would evict
+ * every item from the second-level cache; only the touched items are evicted, once the bump has committed.
+ */
+@Component
+public class ItemCardVersions {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ItemCardVersions(NamedParameterJdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void bump(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update("UPDATE items SET card_version = card_version + 1 WHERE id IN (:ids)",
+                Map.of("ids", itemIds));
+        AfterCommit.run(() -> itemIds.forEach(itemId -> entityManagerFactory.getCache().evict(Item.class, itemId)));
+    }
+}
@@ -1,19 +1,43 @@
 package ru.practicum.shareit.item.storage;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long userId);
-
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT i FROM Item i " +
-            "WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))")
-    List<Item> searchByText(@Param("text") String text);
+            "WHERE i.owner.id = :ownerId " +
+            "AND i.id > :afterId " +
+            "ORDER BY i.id")
+    List<Item> findPageByOwner(@Param("ownerId") Long ownerId,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    boolean existsByOwnerId(Long userId);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.id IN :itemIds " +
+            "AND i.available = TRUE " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "WHERE b.item.id = i.id " +
+            "AND b.status = :status " +
+            "AND b.startDate < :to AND b.endDate > :from) " +
+            "ORDER BY i.id")
+    List<Long> findFreeItemIds(@Param("itemIds") Collection<Long> itemIds,
+                               @Param("status") BookingStatus status,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records how many entity rows each request loaded, as the {@code shareit.request.rows.fetched} summary tagged
+ * by controller method. Rows are counted by a Hibernate post-load listener on the request thread; projections
+ * and scalar queries are not included.
+ */
+@Component
+public class FetchedRowsMetrics implements AsyncHandlerInterceptor, PostLoadEventListener {
+    private static final ThreadLocal<long[]> ROWS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public FetchedRowsMetrics(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.meterRegistry = meterRegistry;
+
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        long[] rows = ROWS.get();
+
+        if (rows != null) {
+            rows[0]++;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ROWS.set(new long[1]);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ROWS.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long[] rows = ROWS.get();
+        ROWS.remove();
+
+        if (rows == null) {
+            return;
+        }
+
+        DistributionSummary.builder("shareit.request.rows.fetched")
+                .description("Entity rows loaded while serving a request")
+                .tag(HandlerTags.HANDLER, HandlerTags.handler(handler))
+                .register(meterRegistry)
+                .record(rows[0]);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the controller method to {@code http.server.requests}, next to the standard {@code uri}, {@code method},
+ * {@code status} and {@code outcome} tags.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of(HandlerTags.HANDLER, HandlerTags.handler(context.getCarrier())));
+    }
+}
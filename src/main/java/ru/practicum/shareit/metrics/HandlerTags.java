@@ -0,0 +1,29 @@
+package ru.practicum.shareit.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+final class HandlerTags {
+    static final String HANDLER = "handler";
+    static final String NONE = "none";
+
+    private HandlerTags() {
+    }
+
+    /**
+     * {@code BookingController#getAllByOwner} style name of the controller method that served the request.
+     */
+    static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler(handler);
+    }
+
+    static String handler(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+
+        return NONE;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@AllArgsConstructor
+public class MetricsWebConfig implements WebMvcConfigurer {
+    private final FetchedRowsMetrics fetchedRowsMetrics;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(fetchedRowsMetrics);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Fails a request that went over its {@link QueryBudget} while the response is still untouched, so the client
+ * gets a clean error instead of a truncated body. Enabled by {@code shareit.query-budget.fail-on-exceed} (the
+ * test profile).
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "shareit.query-budget.fail-on-exceed", havingValue = "true")
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(QueryBudget.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryBudget budget = returnType.getMethodAnnotation(QueryBudget.class);
+        int statements = StatementCounter.currentStatements();
+
+        if (budget != null && statements > budget.value()) {
+            throw new QueryBudgetExceededException(String.format("%s %s issued %d statements, budget is %d",
+                    request.getMethod(), request.getURI().getPath(), statements, budget.value()));
+        }
+
+        return body;
+    }
+}
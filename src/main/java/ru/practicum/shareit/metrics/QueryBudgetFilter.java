@@ -0,0 +1,76 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements issued while serving a request and checks them against the handler's
+ * {@link QueryBudget}. Every request feeds the {@code shareit.request.statements} summary; an exceeded budget
+ * is logged and counted in {@code shareit.query.budget.exceeded}. By then the response is usually committed, so
+ * failing the request is left to {@link QueryBudgetAdvice}, which runs before the body is written.
+ */
+@Slf4j
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int statements;
+
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            chain.doFilter(request, response);
+            statements = scope.statements();
+        }
+
+        if (request.isAsyncStarted()) {
+            return;
+        }
+
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        String handlerTag = HandlerTags.handler(handler);
+
+        DistributionSummary.builder("shareit.request.statements")
+                .description("SQL statements issued while serving a request")
+                .tag(HandlerTags.HANDLER, handlerTag)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+
+        if (budget == null || statements <= budget.value()) {
+            return;
+        }
+
+        String message = String.format("%s %s issued %d statements, budget is %d", request.getMethod(),
+                request.getRequestURI(), statements, budget.value());
+
+        Counter.builder("shareit.query.budget.exceeded")
+                .description("Requests that issued more statements than their query budget")
+                .tag(HandlerTags.HANDLER, handlerTag)
+                .register(meterRegistry)
+                .increment();
+        log.warn(message);
+    }
+}
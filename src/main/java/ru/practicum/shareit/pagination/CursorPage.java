@@ -0,0 +1,32 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> content, String nextCursor) {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static <T> CursorPage<T> of(List<T> content, int limit, Function<T, PageCursor> cursorOf) {
+        if (content.size() < limit) {
+            return new CursorPage<>(content, null);
+        }
+
+        return new CursorPage<>(content, cursorOf.apply(content.get(content.size() - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        return response.body(content);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Unsorted {@link Pageable} that starts at an arbitrary row. {@code PageRequest} only knows page numbers, so an
+ * offset that is not a multiple of the page size would be rounded down to the start of its page.
+ */
+public record OffsetPageRequest(long offset, int size) implements Pageable {
+
+    public OffsetPageRequest {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset can not be negative");
+        }
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - size, 0), size) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page in a {@code (sortKey, id)} seek order. Clients only ever see it as an
+ * opaque token.
+ */
+public record PageCursor(String sortKey, long id) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Cursor for pages ordered by id alone.
+     */
+    public static PageCursor ofId(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = (sortKey == null ? "" : sortKey) + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String sortKey = raw.substring(0, separator);
+
+            return new PageCursor(sortKey.isEmpty() ? null : sortKey, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -2,7 +2,12 @@ package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -18,13 +23,21 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public UserDto update(@RequestBody UserDto userDto,
-                          @PathVariable Long userId) {
-        return userService.update(userDto, userId);
+    public ResponseEntity<UserDto> update(@RequestBody UserDto userDto,
+                                          @PathVariable Long userId,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
+        Tagged<UserDto> updated = userService.update(userDto, userId, ETags.ifMatchVersions(ifMatch));
+
+        return ResponseEntity.ok().eTag(updated.eTag()).body(updated.body());
     }
 
     @GetMapping("/{userId}")
-    public UserDto get(@PathVariable Long userId) {
+    public UserDto get(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(userService.getETag(userId))) {
+            return null;
+        }
+
         return userService.get(userId);
     }
 
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserShortDto {
+    private Long id;
+
+    private String name;
+}
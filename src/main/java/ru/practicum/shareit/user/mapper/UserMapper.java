@@ -18,7 +18,8 @@ public class UserMapper {
         return new User(
                 userId,
                 userDto.getName(),
-                userDto.getEmail()
+                userDto.getEmail(),
+                0L
         );
     }
 }
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 public interface UserService {
     UserDto create(UserDto userDto);
 
-    UserDto update(UserDto userDto, Long userId);
+    Tagged<UserDto> update(UserDto userDto, Long userId, List<Long> expectedVersions);
 
     UserDto get(Long userId);
 
+    String getETag(Long userId);
+
     void delete(Long userId);
 }
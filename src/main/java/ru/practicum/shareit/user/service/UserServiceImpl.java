@@ -2,13 +2,18 @@ package ru.practicum.shareit.user.service;
 
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import java.util.List;
+
 @Service
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -22,10 +27,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserDto update(UserDto userDto, Long userId) {
+    public Tagged<UserDto> update(UserDto userDto, Long userId, List<Long> expectedVersions) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Данный user не найден"));
 
+        if (expectedVersions != null && !expectedVersions.contains(user.getVersion())) {
+            throw new PreconditionFailedException("User has been modified, its current version is "
+                    + user.getVersion());
+        }
+
         if (userDto.getEmail() != null) {
             user.setEmail(userDto.getEmail());
         }
@@ -36,7 +46,9 @@ public class UserServiceImpl implements UserService {
 
         user.setId(userId);
 
-        return UserMapper.toUserDto(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+
+        return new Tagged<>(UserMapper.toUserDto(savedUser), ETags.of(savedUser.getVersion()));
     }
 
     @Override
@@ -51,6 +63,14 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    public String getETag(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Данный user не найден"));
+
+        return ETags.of(user.getVersion());
+    }
+
     @Override
     public void delete(Long userId) {
         if (userId == null) {
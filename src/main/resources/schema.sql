@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
@@ -14,6 +15,8 @@ CREATE TABLE IF NOT EXISTS items (
     name VARCHAR(255) NOT NULL,
     description VARCHAR(255) NOT NULL,
     available BOOLEAN NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    card_version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (id),
     CONSTRAINT fk_owner FOREIGN KEY (owner_id) REFERENCES users(id)
 );
@@ -26,6 +29,8 @@ CREATE TABLE IF NOT EXISTS bookings (
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     status VARCHAR(50) NOT NULL,
+    phase VARCHAR(50) NOT NULL,
+    archived BOOLEAN DEFAULT FALSE NOT NULL,
     CONSTRAINT pk_bookings PRIMARY KEY (id),
     CONSTRAINT fk_booker FOREIGN KEY (booker_id) REFERENCES users(id),
     CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id)
@@ -38,7 +43,86 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT NOT NULL,
     item_id BIGINT NOT NULL,
     comment_date TIMESTAMP NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_author FOREIGN KEY (author_id) REFERENCES users(id),
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items(id)
 );
+
+
+-- Последовательности идентификаторов (pooled optimizer, шаг совпадает с allocationSize)
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', GREATEST((SELECT MAX(id) FROM users), (SELECT last_value FROM users_seq)));
+SELECT setval('items_seq', GREATEST((SELECT MAX(id) FROM items), (SELECT last_value FROM items_seq)));
+SELECT setval('bookings_seq', GREATEST((SELECT MAX(id) FROM bookings), (SELECT last_value FROM bookings_seq)));
+SELECT setval('comments_seq', GREATEST((SELECT MAX(id) FROM comments), (SELECT last_value FROM comments_seq)));
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date);
+
+-- Фаза бронирования для баз, созданных до появления колонки
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(50);
+UPDATE bookings SET phase = CASE
+    WHEN status = 'WAITING' THEN 'WAITING'
+    WHEN status IN ('REJECTED', 'EXPIRED') THEN 'REJECTED'
+    WHEN start_date > LOCALTIMESTAMP THEN 'FUTURE'
+    WHEN end_date > LOCALTIMESTAMP THEN 'CURRENT'
+    ELSE 'PAST'
+END
+WHERE phase IS NULL;
+ALTER TABLE bookings ALTER COLUMN phase SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_start ON bookings (booker_id, item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_phase_start ON bookings (booker_id, phase, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_phase_start ON bookings (item_id, phase, start_date DESC, id DESC);
+
+-- Версии для оптимистических блокировок и ETag в базах, созданных до появления колонки
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS card_version BIGINT DEFAULT 0 NOT NULL;
+
+-- Полнотекстовый поиск по товарам
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (description gin_trgm_ops);
+
+-- Курсорная пагинация поиска по id среди доступных товаров
+CREATE INDEX IF NOT EXISTS idx_items_available_id ON items (id) WHERE available;
+
+-- Частичные индексы для фонового перевода бронирований по фазам
+CREATE INDEX IF NOT EXISTS idx_bookings_sweep_start ON bookings (start_date, id) WHERE phase IN ('WAITING', 'FUTURE');
+CREATE INDEX IF NOT EXISTS idx_bookings_sweep_end ON bookings (end_date, id) WHERE phase = 'CURRENT';
+
+-- Архивация давно завершённых бронирований. При первом запуске BookingPartitions превращает таблицу
+-- в секционированную: bookings_hot (archived = FALSE) и bookings_archive с секциями по году start_date
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS archived BOOLEAN DEFAULT FALSE NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_candidates ON bookings (end_date, id)
+    WHERE phase IN ('PAST', 'REJECTED') AND NOT archived;
+
+-- Исключающее ограничение на пересечение одобренных бронирований одной вещи ставит BookingPartitions
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Ключи идемпотентности POST-запросов и сохранённые ответы
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id VARCHAR(512) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response VARCHAR,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created ON idempotency_keys (created_at);
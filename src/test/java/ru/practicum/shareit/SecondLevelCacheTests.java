@@ -0,0 +1,50 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.metrics.StatementAssertions.countStatements;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void secondUserLookupIssuesNoSql() throws Throwable {
+        User user = userRepository.save(new User(null, "Cached", "cached-user@mail.ru", 0L));
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals(1, countStatements(() -> userRepository.findById(user.getId()).orElseThrow()));
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        assertEquals(0, countStatements(() -> userRepository.findById(user.getId()).orElseThrow()));
+    }
+
+    @Test
+    void secondItemLookupIssuesNoSql() throws Throwable {
+        User owner = userRepository.save(new User(null, "Owner", "cached-owner@mail.ru", 0L));
+        Item item = itemRepository.save(new Item(null, owner, "Drill", "Cordless drill", true, 0L, 0L));
+        entityManagerFactory.getCache().evictAll();
+
+        assertTrue(itemRepository.findById(item.getId()).isPresent());
+
+        assertEquals(0, countStatements(() -> itemRepository.findById(item.getId()).orElseThrow()));
+    }
+}
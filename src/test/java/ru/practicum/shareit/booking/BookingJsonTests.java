@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JsonTest
+class BookingJsonTests {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void bookingCarriesOnlyIdsAndNamesOfItsBookerAndItem() throws Exception {
+        User owner = new User(4L, "Owner", "owner@mail.ru", 7L);
+        User booker = new User(2L, "Booker", "booker@mail.ru", 3L);
+        Item item = new Item(3L, owner, "Drill", "d".repeat(1000), true, 5L, 0L);
+        Booking booking = new Booking(1L, booker, item, NOW.plusDays(1), NOW.plusDays(2), BookingStatus.APPROVED,
+                BookingPhase.FUTURE, false);
+
+        byte[] json = objectMapper.writeValueAsBytes(BookingMapper.toRequestDto(booking, NOW));
+        JsonNode tree = objectMapper.readTree(json);
+
+        assertEquals(Set.of("id", "name"), fieldNames(tree.get("booker")));
+        assertEquals(Set.of("id", "name"), fieldNames(tree.get("item")));
+        assertTrue(json.length <= 170, "Booking JSON takes " + json.length + " bytes");
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
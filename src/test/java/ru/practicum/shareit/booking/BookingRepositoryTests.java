@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDatesDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingRole;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class BookingRepositoryTests {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+    private static final PageRequest FIRST_TEN = PageRequest.of(0, 10);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    private Booking past;
+    private Booking pastNotSwept;
+    private Booking archived;
+    private Booking current;
+    private Booking currentNotSwept;
+    private Booking future;
+    private Booking waiting;
+    private Booking rejected;
+    private Booking expiredNotSwept;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.ru", 0L));
+        booker = userRepository.save(new User(null, "Booker", "booker@mail.ru", 0L));
+        item = itemRepository.save(new Item(null, owner, "Drill", "Cordless drill", true, 0L, 0L));
+
+        archived = booking(booker, item, -400 * 24, -399 * 24, BookingStatus.APPROVED, BookingPhase.PAST, true);
+        past = booking(booker, item, -10 * 24, -9 * 24, BookingStatus.APPROVED, BookingPhase.PAST, false);
+        pastNotSwept = booking(booker, item, -5 * 24, -4 * 24, BookingStatus.APPROVED, BookingPhase.CURRENT, false);
+        expiredNotSwept = booking(booker, item, -3, 3, BookingStatus.WAITING, BookingPhase.WAITING, false);
+        currentNotSwept = booking(booker, item, -2, 2, BookingStatus.APPROVED, BookingPhase.FUTURE, false);
+        current = booking(booker, item, -1, 1, BookingStatus.APPROVED, BookingPhase.CURRENT, false);
+        future = booking(booker, item, 24, 48, BookingStatus.APPROVED, BookingPhase.FUTURE, false);
+        waiting = booking(booker, item, 72, 96, BookingStatus.WAITING, BookingPhase.WAITING, false);
+        rejected = booking(booker, item, 120, 144, BookingStatus.REJECTED, BookingPhase.REJECTED, false);
+    }
+
+    @Test
+    void bookerListsFilterByStateAtTheGivenTime() {
+        assertEquals(ids(rejected, waiting, future, current, currentNotSwept, expiredNotSwept, pastNotSwept, past,
+                archived), ids(bookerPage(BookingState.ALL)));
+        assertEquals(ids(current, currentNotSwept), ids(bookerPage(BookingState.CURRENT)));
+        assertEquals(ids(pastNotSwept, past, archived), ids(bookerPage(BookingState.PAST)));
+        assertEquals(ids(future), ids(bookerPage(BookingState.FUTURE)));
+        assertEquals(ids(waiting), ids(bookerPage(BookingState.WAITING)));
+        assertEquals(ids(rejected, expiredNotSwept), ids(bookerPage(BookingState.REJECTED)));
+    }
+
+    @Test
+    void nextPageContinuesRightBehindTheCursor() {
+        List<Booking> firstPage = bookingRepository.findPage(BookingRole.BOOKER, booker.getId(), BookingState.ALL,
+                NOW, null, PageRequest.of(0, 4));
+        Booking last = firstPage.get(firstPage.size() - 1);
+
+        List<Booking> nextPage = bookingRepository.findPage(BookingRole.BOOKER, booker.getId(), BookingState.ALL,
+                NOW, new PageCursor(last.getStartDate().toString(), last.getId()), PageRequest.of(0, 4));
+
+        assertEquals(ids(rejected, waiting, future, current), ids(firstPage));
+        assertEquals(ids(currentNotSwept, expiredNotSwept, pastNotSwept, past), ids(nextPage));
+    }
+
+    @Test
+    void offsetPageStartsAtTheExactRow() {
+        List<Booking> page = bookingRepository.findPage(BookingRole.BOOKER, booker.getId(), BookingState.ALL,
+                NOW, null, new OffsetPageRequest(3, 4));
+
+        assertEquals(ids(current, currentNotSwept, expiredNotSwept, pastNotSwept), ids(page));
+    }
+
+    @Test
+    void ownerListsCoverAllOwnItemsAndNoForeignOnes() {
+        User otherBooker = userRepository.save(new User(null, "Other", "other@mail.ru", 0L));
+        User otherOwner = userRepository.save(new User(null, "Neighbour", "neighbour@mail.ru", 0L));
+        Item secondItem = itemRepository.save(new Item(null, owner, "Saw", "Hand saw", true, 0L, 0L));
+        Item foreignItem = itemRepository.save(new Item(null, otherOwner, "Ladder", "Long ladder", true, 0L, 0L));
+
+        Booking secondItemFuture = booking(otherBooker, secondItem, 30, 40, BookingStatus.APPROVED,
+                BookingPhase.FUTURE, false);
+        Booking secondItemCurrent = booking(otherBooker, secondItem, -30, 30, BookingStatus.APPROVED,
+                BookingPhase.CURRENT, false);
+        booking(booker, foreignItem, 36, 48, BookingStatus.APPROVED, BookingPhase.FUTURE, false);
+        booking(booker, foreignItem, -6, 6, BookingStatus.APPROVED, BookingPhase.CURRENT, false);
+
+        assertEquals(ids(rejected, waiting, secondItemFuture, future, current, currentNotSwept, expiredNotSwept,
+                secondItemCurrent, pastNotSwept, past, archived), ids(ownerPage(BookingState.ALL)));
+        assertEquals(ids(current, currentNotSwept, secondItemCurrent), ids(ownerPage(BookingState.CURRENT)));
+        assertEquals(ids(pastNotSwept, past, archived), ids(ownerPage(BookingState.PAST)));
+        assertEquals(ids(secondItemFuture, future), ids(ownerPage(BookingState.FUTURE)));
+        assertEquals(ids(waiting), ids(ownerPage(BookingState.WAITING)));
+        assertEquals(ids(rejected, expiredNotSwept), ids(ownerPage(BookingState.REJECTED)));
+    }
+
+    @Test
+    void lastAndNextDatesSkipTheBookingInProgress() {
+        assertEquals(pastNotSwept.getEndDate(),
+                bookingRepository.findLastEndDateByItem(item.getId(), BookingStatus.APPROVED, NOW));
+        assertEquals(future.getStartDate(),
+                bookingRepository.findNextStartDateByItem(item.getId(), BookingStatus.APPROVED, NOW));
+    }
+
+    @Test
+    void groupedDatesMatchThePerItemQueries() {
+        Item currentOnly = itemRepository.save(new Item(null, owner, "Saw", "Hand saw", true, 0L, 0L));
+        Item neverBooked = itemRepository.save(new Item(null, owner, "Ladder", "Long ladder", true, 0L, 0L));
+        booking(booker, currentOnly, -5, 5, BookingStatus.APPROVED, BookingPhase.CURRENT, false);
+
+        Map<Long, BookingDatesDto> dates = bookingRepository.findBookingDatesByItems(
+                        List.of(item.getId(), currentOnly.getId(), neverBooked.getId()), BookingStatus.APPROVED, NOW)
+                .stream()
+                .collect(Collectors.toMap(BookingDatesDto::getItemId, Function.identity()));
+
+        assertEquals(Set.of(item.getId(), currentOnly.getId()), dates.keySet());
+        assertEquals(pastNotSwept.getEndDate(), dates.get(item.getId()).getLastBookingDate());
+        assertEquals(future.getStartDate(), dates.get(item.getId()).getNextBookingDate());
+        assertNull(dates.get(currentOnly.getId()).getLastBookingDate());
+        assertNull(dates.get(currentOnly.getId()).getNextBookingDate());
+    }
+
+    private List<Booking> ownerPage(BookingState state) {
+        return bookingRepository.findPage(BookingRole.OWNER, owner.getId(), state, NOW, null, PageRequest.of(0, 20));
+    }
+
+    private List<Booking> bookerPage(BookingState state) {
+        return bookingRepository.findPage(BookingRole.BOOKER, booker.getId(), state, NOW, null, FIRST_TEN);
+    }
+
+    private Booking booking(User booker, Item item, long startHours, long endHours, BookingStatus status,
+                            BookingPhase phase, boolean archived) {
+        return bookingRepository.save(new Booking(null, booker, item, NOW.plusHours(startHours),
+                NOW.plusHours(endHours), status, phase, archived));
+    }
+
+    private static List<Long> ids(Booking... bookings) {
+        return ids(List.of(bookings));
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.metrics.StatementAssertions.countStatements;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceTests {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @TestConfiguration
+    static class FixedClockConfig {
+
+        @Bean
+        @Primary
+        Clock fixedClock() {
+            return CLOCK;
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner" + System.nanoTime() + "@mail.ru", 0L));
+        booker = userRepository.save(new User(null, "Booker", "booker" + System.nanoTime() + "@mail.ru", 0L));
+        item = itemRepository.save(new Item(null, owner, "Drill", "Cordless drill", true, 0L, 0L));
+    }
+
+    @Test
+    void freeSlotsMergeOverlappingAndTouchingBookingsAndClipToTheWindow() {
+        booking(-10, 10, BookingStatus.APPROVED);
+        booking(20, 30, BookingStatus.APPROVED);
+        booking(25, 40, BookingStatus.APPROVED);
+        booking(40, 50, BookingStatus.APPROVED);
+        booking(60, 70, BookingStatus.WAITING);
+        booking(90, 110, BookingStatus.APPROVED);
+
+        assertEquals(List.of(slot(10, 20), slot(50, 90)),
+                bookingService.getFreeSlots(item.getId(), at(0), at(100)));
+    }
+
+    @Test
+    void freeSlotsAreEmptyWhenOneBookingCoversTheWindow() {
+        booking(-1, 101, BookingStatus.APPROVED);
+
+        assertEquals(List.of(), bookingService.getFreeSlots(item.getId(), at(0), at(100)));
+    }
+
+    @Test
+    void freeSlotsSpanTheWholeWindowWithoutBookings() {
+        booking(-20, 0, BookingStatus.APPROVED);
+        booking(100, 120, BookingStatus.APPROVED);
+
+        assertEquals(List.of(slot(0, 100)), bookingService.getFreeSlots(item.getId(), at(0), at(100)));
+    }
+
+    @Test
+    void approvalInvalidatesTheCachedItemCard() {
+        BookingRequestDto created = bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), at(24), at(48), null), booker.getId());
+
+        assertNull(itemService.get(item.getId()).getFutureBookingDate());
+        String eTagBeforeApproval = itemService.getETag(item.getId());
+
+        bookingService.approve(owner.getId(), created.getId(), true);
+
+        assertEquals(at(24), itemService.get(item.getId()).getFutureBookingDate());
+        assertNotEquals(eTagBeforeApproval, itemService.getETag(item.getId()));
+    }
+
+    @Test
+    void rejectedBatchLeavesNoBookingsAndNoProvisionalIntervals() {
+        Item secondItem = itemRepository.save(new Item(null, owner, "Saw", "Hand saw", true, 0L, 0L));
+        bookingService.create(new BookingCreateDto(null, null, item.getId(), at(24), at(48), null), booker.getId());
+
+        assertThrows(ConflictException.class, () -> bookingService.createAll(List.of(
+                new BookingCreateDto(null, null, secondItem.getId(), at(1), at(10), null),
+                new BookingCreateDto(null, null, item.getId(), at(30), at(40), null)), booker.getId()));
+
+        assertEquals(List.of(), bookingRepository.findIntervalsByItem(secondItem.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW));
+        assertDoesNotThrow(() -> bookingService.create(
+                new BookingCreateDto(null, null, secondItem.getId(), at(1), at(10), null), booker.getId()));
+        assertThrows(ConflictException.class, () -> bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), at(30), at(40), null), booker.getId()));
+    }
+
+    @Test
+    void offsetThatIsNotAPageBoundaryIsKeptExactly() {
+        booking(10, 11, BookingStatus.APPROVED);
+        Booking third = booking(20, 21, BookingStatus.APPROVED);
+        Booking second = booking(30, 31, BookingStatus.APPROVED);
+        booking(40, 41, BookingStatus.APPROVED);
+
+        List<Long> page = bookingService.getAllByBooker(booker.getId(), BookingState.ALL, 1, 2, null)
+                .content()
+                .stream()
+                .map(BookingRequestDto::getId)
+                .toList();
+
+        assertEquals(List.of(second.getId(), third.getId()), page);
+    }
+
+    @Test
+    void batchOverlappingItselfIsRejectedAsAWhole() {
+        assertThrows(ConflictException.class, () -> bookingService.createAll(List.of(
+                new BookingCreateDto(null, null, item.getId(), at(1), at(10), null),
+                new BookingCreateDto(null, null, item.getId(), at(5), at(15), null)), booker.getId()));
+
+        assertDoesNotThrow(() -> bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), at(5), at(15), null), booker.getId()));
+    }
+
+    @Test
+    void unconfirmedRentalIsCheckedAgainstTheDatabaseEveryTime() throws Throwable {
+        assertFalse(bookingService.hasRented(booker.getId(), item.getId()));
+
+        assertEquals(1, countStatements(() -> bookingService.hasRented(booker.getId(), item.getId())));
+    }
+
+    @Test
+    void confirmedRentalIsAnsweredFromTheCachedSet() throws Throwable {
+        BookingRequestDto created = bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), at(0), at(2), null), booker.getId());
+        assertFalse(bookingService.hasRented(booker.getId(), item.getId()));
+
+        bookingService.approve(owner.getId(), created.getId(), true);
+
+        assertTrue(bookingService.hasRented(booker.getId(), item.getId()));
+        assertEquals(0, countStatements(() -> bookingService.hasRented(booker.getId(), item.getId())));
+    }
+
+    @Test
+    void rejectingAnApprovedRentalDropsTheCachedSet() {
+        BookingRequestDto created = bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), at(0), at(2), null), booker.getId());
+        bookingService.approve(owner.getId(), created.getId(), true);
+        assertTrue(bookingService.hasRented(booker.getId(), item.getId()));
+
+        bookingService.approve(owner.getId(), created.getId(), false);
+
+        assertFalse(bookingService.hasRented(booker.getId(), item.getId()));
+    }
+
+    @Test
+    void setFilledBeforeTheApprovalCommitsDoesNotHideIt() {
+        BookingRequestDto created = bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), at(0), at(2), null), booker.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingService.approve(owner.getId(), created.getId(), true);
+
+            assertFalse(CompletableFuture.supplyAsync(() ->
+                    bookingService.hasRented(booker.getId(), item.getId())).join());
+        });
+
+        assertTrue(bookingService.hasRented(booker.getId(), item.getId()));
+    }
+
+    private Booking booking(long startHours, long endHours, BookingStatus status) {
+        BookingPhase phase = BookingPhase.of(status, at(startHours), at(endHours), NOW);
+
+        return bookingRepository.save(new Booking(null, booker, item, at(startHours), at(endHours), status, phase,
+                false));
+    }
+
+    private static FreeSlotDto slot(long startHours, long endHours) {
+        return new FreeSlotDto(at(startHours), at(endHours));
+    }
+
+    private static LocalDateTime at(long hours) {
+        return NOW.plusHours(hours);
+    }
+}
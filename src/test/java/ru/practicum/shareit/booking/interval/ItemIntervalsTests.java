@@ -0,0 +1,107 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemIntervalsTests {
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void touchingBoundariesDoNotOverlap() {
+        IntervalSet set = new IntervalSet();
+        set.add(interval(1L, 10, 20, BookingStatus.APPROVED));
+
+        assertFalse(set.overlaps(at(0), at(10)));
+        assertFalse(set.overlaps(at(20), at(30)));
+        assertTrue(set.overlaps(at(19), at(21)));
+        assertTrue(set.overlaps(at(9), at(11)));
+        assertTrue(set.overlaps(at(12), at(18)));
+        assertTrue(set.overlaps(at(0), at(30)));
+    }
+
+    @Test
+    void longIntervalIsFoundBehindShorterOnes() {
+        IntervalSet set = new IntervalSet();
+        set.add(interval(1L, 0, 100, BookingStatus.APPROVED));
+        set.add(interval(2L, 10, 20, BookingStatus.APPROVED));
+        set.add(interval(3L, 30, 40, BookingStatus.APPROVED));
+
+        assertTrue(set.overlaps(at(50), at(60)));
+        assertFalse(set.overlaps(at(100), at(110)));
+    }
+
+    @Test
+    void removeRecomputesTheRunningMaximum() {
+        IntervalSet set = new IntervalSet();
+        set.add(interval(1L, 0, 100, BookingStatus.APPROVED));
+        set.add(interval(2L, 10, 20, BookingStatus.APPROVED));
+
+        assertTrue(set.remove(1L));
+        assertFalse(set.remove(1L));
+
+        assertFalse(set.overlaps(at(50), at(60)));
+        assertTrue(set.overlaps(at(15), at(16)));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void intervalsStaySortedByStart() {
+        IntervalSet set = new IntervalSet();
+        set.add(interval(1L, 30, 40, BookingStatus.APPROVED));
+        set.add(interval(2L, 10, 20, BookingStatus.APPROVED));
+        set.add(interval(3L, 20, 30, BookingStatus.APPROVED));
+
+        assertEquals(List.of(2L, 3L, 1L), set.intervals().stream().map(BookingInterval::bookingId).toList());
+    }
+
+    @Test
+    void waitingBookingsBlockNewRequestsButNotApprovals() {
+        ItemIntervals intervals = new ItemIntervals(List.of(
+                interval(1L, 10, 20, BookingStatus.WAITING),
+                interval(2L, 30, 40, BookingStatus.APPROVED)));
+
+        assertTrue(intervals.overlaps(at(15), at(16)));
+        assertFalse(intervals.overlapsApproved(at(15), at(16)));
+        assertTrue(intervals.overlaps(at(35), at(36)));
+        assertTrue(intervals.overlapsApproved(at(35), at(36)));
+    }
+
+    @Test
+    void rejectedAndExpiredBookingsAreNotTracked() {
+        ItemIntervals intervals = new ItemIntervals(List.of(
+                interval(1L, 10, 20, BookingStatus.REJECTED),
+                interval(2L, 30, 40, BookingStatus.EXPIRED)));
+
+        assertFalse(intervals.overlaps(at(0), at(50)));
+    }
+
+    @Test
+    void approvalMovesTheWindowFromWaitingToApproved() {
+        ItemIntervals intervals = new ItemIntervals(List.of(interval(1L, 10, 20, BookingStatus.WAITING)));
+
+        intervals.remove(1L);
+        intervals.add(interval(1L, 10, 20, BookingStatus.APPROVED));
+
+        assertTrue(intervals.overlapsApproved(at(15), at(16)));
+        assertEquals(List.of(1L), intervals.approvedIntervals().stream().map(BookingInterval::bookingId).toList());
+
+        intervals.remove(1L);
+
+        assertFalse(intervals.overlaps(at(15), at(16)));
+    }
+
+    private static BookingInterval interval(Long bookingId, int startHour, int endHour, BookingStatus status) {
+        return new BookingInterval(bookingId, at(startHour), at(endHour), status);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return T0.plusHours(hour);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingPhaseTests {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final LocalDateTime START = NOW.plusHours(1);
+    private static final LocalDateTime END = NOW.plusHours(2);
+
+    @Test
+    void undecidedAndRefusedBookingsIgnoreTheClock() {
+        assertEquals(BookingPhase.WAITING, BookingPhase.of(BookingStatus.WAITING, START, END, END.plusDays(1)));
+        assertEquals(BookingPhase.REJECTED, BookingPhase.of(BookingStatus.REJECTED, START, END, NOW));
+        assertEquals(BookingPhase.REJECTED, BookingPhase.of(BookingStatus.EXPIRED, START, END, NOW));
+    }
+
+    @Test
+    void approvedBookingFollowsTheClock() {
+        assertEquals(BookingPhase.FUTURE, BookingPhase.of(BookingStatus.APPROVED, START, END, NOW));
+        assertEquals(BookingPhase.CURRENT, BookingPhase.of(BookingStatus.APPROVED, START, END, START));
+        assertEquals(BookingPhase.CURRENT, BookingPhase.of(BookingStatus.APPROVED, START, END, END.minusNanos(1)));
+        assertEquals(BookingPhase.PAST, BookingPhase.of(BookingStatus.APPROVED, START, END, END));
+    }
+}
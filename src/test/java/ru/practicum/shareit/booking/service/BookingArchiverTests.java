@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingPartitions;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingArchiverTests {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2000-06-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingPartitions bookingPartitions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "archive-owner" + System.nanoTime() + "@mail.ru", 0L));
+        booker = userRepository.save(new User(null, "Booker", "archive-booker" + System.nanoTime() + "@mail.ru", 0L));
+        item = itemRepository.save(new Item(null, owner, "Drill", "Cordless drill", true, 0L, 0L));
+    }
+
+    @Test
+    void onlyLongFinishedBookingsAreArchived() {
+        Booking past = booking(-200, -199, BookingStatus.APPROVED, BookingPhase.PAST);
+        Booking rejected = booking(-200, -199, BookingStatus.REJECTED, BookingPhase.REJECTED);
+        Booking recent = booking(-30, -29, BookingStatus.APPROVED, BookingPhase.PAST);
+        Booking notSwept = booking(-200, -199, BookingStatus.APPROVED, BookingPhase.CURRENT);
+        Booking future = booking(10, 11, BookingStatus.APPROVED, BookingPhase.FUTURE);
+
+        archiver(2).archive();
+
+        assertFalse(bookingPartitions.isPartitioned());
+        assertTrue(isArchived(past));
+        assertTrue(isArchived(rejected));
+        assertFalse(isArchived(recent));
+        assertFalse(isArchived(notSwept));
+        assertFalse(isArchived(future));
+    }
+
+    @Test
+    void archivesEveryBatchInOneRun() {
+        Booking first = booking(-300, -299, BookingStatus.APPROVED, BookingPhase.PAST);
+        Booking second = booking(-298, -297, BookingStatus.APPROVED, BookingPhase.PAST);
+        Booking third = booking(-296, -295, BookingStatus.EXPIRED, BookingPhase.REJECTED);
+
+        archiver(1).archive();
+
+        assertTrue(isArchived(first));
+        assertTrue(isArchived(second));
+        assertTrue(isArchived(third));
+    }
+
+    private BookingArchiver archiver(int batchSize) {
+        return new BookingArchiver(bookingRepository, bookingPartitions, transactionManager, CLOCK,
+                new SimpleMeterRegistry(), Duration.ofDays(90), batchSize);
+    }
+
+    private boolean isArchived(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().isArchived();
+    }
+
+    private Booking booking(int startDays, int endDays, BookingStatus status, BookingPhase phase) {
+        return bookingRepository.save(new Booking(null, booker, item, NOW.plusDays(startDays), NOW.plusDays(endDays),
+                status, phase, false));
+    }
+}
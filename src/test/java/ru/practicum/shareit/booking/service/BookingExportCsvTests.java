@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.booking.service.BookingExportServiceImpl.csvField;
+
+class BookingExportCsvTests {
+
+    @Test
+    void plainTextIsWrittenAsIs() {
+        assertEquals("Cordless drill", csvField("Cordless drill"));
+        assertEquals("", csvField(""));
+        assertEquals("", csvField(null));
+    }
+
+    @Test
+    void separatorsAndLineBreaksAreQuoted() {
+        assertEquals("\"Drill, cordless\"", csvField("Drill, cordless"));
+        assertEquals("\"Drill\ncordless\"", csvField("Drill\ncordless"));
+        assertEquals("\"Drill\r\ncordless\"", csvField("Drill\r\ncordless"));
+    }
+
+    @Test
+    void embeddedQuotesAreDoubled() {
+        assertEquals("\"The \"\"best\"\" drill\"", csvField("The \"best\" drill"));
+    }
+
+    @Test
+    void formulaPrefixesAreNeutralized() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", csvField("=HYPERLINK(\"http://x\")"));
+        assertEquals("\"'+1\"", csvField("+1"));
+        assertEquals("\"'-1+2\"", csvField("-1+2"));
+        assertEquals("\"'@SUM(A1:A2)\"", csvField("@SUM(A1:A2)"));
+        assertEquals("\"'\tTab\"", csvField("\tTab"));
+        assertEquals("\"'\rReturn\"", csvField("\rReturn"));
+        assertEquals("Drill-1", csvField("Drill-1"));
+    }
+}
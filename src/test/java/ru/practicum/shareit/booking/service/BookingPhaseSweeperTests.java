@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemCardVersions;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingPhaseSweeperTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Autowired
+    private ItemCardVersions itemCardVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private LocalDateTime base;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+        owner = userRepository.save(new User(null, "Owner", "sweep-owner" + System.nanoTime() + "@mail.ru", 0L));
+        booker = userRepository.save(new User(null, "Booker", "sweep-booker" + System.nanoTime() + "@mail.ru", 0L));
+        item = itemRepository.save(new Item(null, owner, "Drill", "Cordless drill", true, 0L, 0L));
+    }
+
+    @Test
+    void startedWaitingBookingExpiresAndFreesItsWindow() {
+        BookingRequestDto waiting = bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), base.plusHours(1), base.plusHours(3), null),
+                booker.getId());
+
+        sweeperAt(base.plusHours(2)).sweep();
+
+        Booking expired = bookingRepository.findById(waiting.getId()).orElseThrow();
+        assertEquals(BookingStatus.EXPIRED, expired.getStatus());
+        assertEquals(BookingPhase.REJECTED, expired.getPhase());
+        assertDoesNotThrow(() -> bookingService.create(
+                new BookingCreateDto(null, null, item.getId(), base.plusHours(2), base.plusHours(4), null),
+                booker.getId()));
+    }
+
+    @Test
+    void approvedBookingMovesFromFutureToCurrentToPast() {
+        Booking booking = bookingRepository.save(new Booking(null, booker, item, base.plusHours(1),
+                base.plusHours(3), BookingStatus.APPROVED, BookingPhase.FUTURE, false));
+
+        sweeperAt(base).sweep();
+        assertEquals(BookingPhase.FUTURE, phaseOf(booking));
+        assertEquals(0, cardVersion());
+
+        sweeperAt(base.plusHours(2)).sweep();
+        assertEquals(BookingPhase.CURRENT, phaseOf(booking));
+        assertEquals(1, cardVersion());
+
+        sweeperAt(base.plusHours(3)).sweep();
+        assertEquals(BookingPhase.PAST, phaseOf(booking));
+        assertEquals(2, cardVersion());
+    }
+
+    @Test
+    void lateSweepMovesAFinishedBookingAllTheWayToPast() {
+        Booking booking = bookingRepository.save(new Booking(null, booker, item, base.plusHours(1),
+                base.plusHours(3), BookingStatus.APPROVED, BookingPhase.FUTURE, false));
+
+        sweeperAt(base.plusHours(5)).sweep();
+
+        assertEquals(BookingPhase.PAST, phaseOf(booking));
+    }
+
+    private long cardVersion() {
+        return itemRepository.findById(item.getId()).orElseThrow().getCardVersion();
+    }
+
+    private BookingPhase phaseOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getPhase();
+    }
+
+    private BookingPhaseSweeper sweeperAt(LocalDateTime now) {
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+        return new BookingPhaseSweeper(bookingRepository, bookingIntervalIndex, itemCardVersions, transactionManager,
+                clock, new SimpleMeterRegistry(), 500);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingPartitionsTests {
+    private static final String LOCK = "LOCK TABLE bookings IN ACCESS EXCLUSIVE MODE";
+    private static final String RENAME = "ALTER TABLE bookings RENAME TO bookings_hot";
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private BookingPartitions bookingPartitions;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        bookingPartitions = new BookingPartitions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void otherDatabasesKeepThePlainTable() {
+        database("H2");
+
+        bookingPartitions.afterPropertiesSet();
+        bookingPartitions.ensureArchivePartition(2020);
+
+        assertFalse(bookingPartitions.isPartitioned());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void partitionedTableIsNotLockedOnStartup() {
+        database("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+
+        bookingPartitions.afterPropertiesSet();
+
+        assertTrue(bookingPartitions.isPartitioned());
+        verify(jdbcTemplate, never()).execute(LOCK);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void plainTableIsConvertedUnderTheLock() {
+        database("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(false);
+
+        bookingPartitions.afterPropertiesSet();
+
+        assertTrue(bookingPartitions.isPartitioned());
+        verify(jdbcTemplate).execute(LOCK);
+        verify(jdbcTemplate).execute(RENAME);
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE bookings_hot ADD CONSTRAINT excl_bookings_approved"));
+    }
+
+    @Test
+    void conversionFinishedByAnotherInstanceIsNotRepeated() {
+        database("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class)))
+                .thenReturn(false, true);
+
+        bookingPartitions.afterPropertiesSet();
+
+        verify(jdbcTemplate).execute(LOCK);
+        verify(jdbcTemplate, never()).execute(RENAME);
+    }
+
+    @Test
+    void archivePartitionIsCreatedOnlyWhenMissing() {
+        database("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("to_regclass(?)"), eq(Boolean.class), eq("bookings_archive_2020")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("to_regclass(?)"), eq(Boolean.class), eq("bookings_archive_2021")))
+                .thenReturn(false);
+
+        bookingPartitions.afterPropertiesSet();
+        bookingPartitions.ensureArchivePartition(2020);
+        bookingPartitions.ensureArchivePartition(2021);
+
+        verify(jdbcTemplate, never()).execute(contains("bookings_archive_2020"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS bookings_archive_2021 PARTITION OF bookings_archive "
+                + "FOR VALUES FROM ('2021-01-01') TO ('2022-01-01')");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void database(String product) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+    }
+}
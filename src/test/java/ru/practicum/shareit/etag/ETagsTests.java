@@ -0,0 +1,49 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ETagsTests {
+
+    @Test
+    void tagOfARelatedRepresentationCarriesBothVersions() {
+        assertEquals("\"3\"", ETags.of(3));
+        assertEquals("\"3-7\"", ETags.of(3, 7));
+        assertEquals(List.of(3L), ETags.ifMatchVersions(ETags.of(3, 7)));
+    }
+
+    @Test
+    void absentOrAnyIfMatchRequiresNoVersion() {
+        assertNull(ETags.ifMatchVersions(null));
+        assertNull(ETags.ifMatchVersions(" "));
+        assertNull(ETags.ifMatchVersions("*"));
+    }
+
+    @Test
+    void listedTagsAreAllAccepted() {
+        assertEquals(List.of(3L), ETags.ifMatchVersions("\"3\""));
+        assertEquals(List.of(3L, 4L), ETags.ifMatchVersions("\"3\", \"4\""));
+        assertEquals(List.of(3L, 5L), ETags.ifMatchVersions("\"3-0a1b2c3d4e5f6071\",\"5\""));
+    }
+
+    @Test
+    void weakTagsNeverMatch() {
+        assertEquals(List.of(), ETags.ifMatchVersions("W/\"3\""));
+        assertEquals(List.of(4L), ETags.ifMatchVersions("W/\"3\", \"4\""));
+    }
+
+    @Test
+    void malformedHeaderIsRejected() {
+        assertThrows(ValidationException.class, () -> ETags.ifMatchVersions("3"));
+        assertThrows(ValidationException.class, () -> ETags.ifMatchVersions("\"3"));
+        assertThrows(ValidationException.class, () -> ETags.ifMatchVersions("\"3\", W/"));
+        assertThrows(ValidationException.class, () -> ETags.ifMatchVersions("\"abc\""));
+        assertThrows(ValidationException.class, () -> ETags.ifMatchVersions(" , "));
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.config.AfterCommit;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyStoreTests {
+    private static final String SCOPE = "POST /test";
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = newStore(meterRegistry);
+        key = "key-" + System.nanoTime();
+    }
+
+    @Test
+    void repeatedRequestIsReplayed() {
+        Answer first = store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill"));
+        Answer second = store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill"));
+
+        assertEquals(first, second);
+        assertEquals(1, executions.get());
+        assertTrue(idempotencyRecordRepository.findById(SCOPE + ":" + key).orElseThrow()
+                .getRequestHash().matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    void otherInstanceReplaysTheStoredResponse() {
+        Answer first = store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill"));
+        Answer replayed = newStore(new SimpleMeterRegistry())
+                .execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill"));
+
+        assertEquals(first, replayed);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void keyReusedForAnotherBodyIsAConflict() {
+        store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill"));
+
+        assertThrows(ConflictException.class, () ->
+                store.execute(SCOPE, key, new Request("saw"), Answer.class, () -> answer("saw")));
+        assertThrows(ConflictException.class, () -> newStore(new SimpleMeterRegistry())
+                .execute(SCOPE, key, new Request("saw"), Answer.class, () -> answer("saw")));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failedRequestReleasesTheKey() {
+        assertThrows(ValidationException.class, () -> store.execute(SCOPE, key, new Request("drill"), Answer.class,
+                () -> {
+                    throw new ValidationException("Item name can not be blank");
+                }));
+        assertFalse(idempotencyRecordRepository.existsById(SCOPE + ":" + key));
+
+        Answer retried = store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill"));
+
+        assertEquals("drill", retried.name());
+    }
+
+    @Test
+    void businessWriteIsRolledBackWhenTheResponseCanNotBeStored() {
+        String email = "idempotent" + System.nanoTime() + "@mail.ru";
+
+        assertThrows(IllegalStateException.class, () -> store.execute(SCOPE, key, new Request("drill"),
+                Unwritable.class, () -> {
+                    userRepository.save(new User(null, "Booker", email, 0L));
+                    return new Unwritable();
+                }));
+
+        assertTrue(userRepository.findAll().stream().noneMatch(user -> email.equals(user.getEmail())));
+        assertFalse(idempotencyRecordRepository.existsById(SCOPE + ":" + key));
+    }
+
+    @Test
+    void sideEffectsWaitForTheResponseToBeStored() {
+        AtomicBoolean indexed = new AtomicBoolean();
+
+        assertThrows(IllegalStateException.class, () -> store.execute(SCOPE, key, new Request("drill"),
+                Unwritable.class, () -> {
+                    AfterCommit.run(() -> indexed.set(true));
+                    return new Unwritable();
+                }));
+        assertFalse(indexed.get());
+
+        store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> {
+            AfterCommit.run(() -> indexed.set(true));
+            assertFalse(indexed.get());
+            return answer("drill");
+        });
+        assertTrue(indexed.get());
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneExecution() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Answer> first = executor.submit(() ->
+                    store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> {
+                        entered.countDown();
+                        await(release);
+                        return answer("drill");
+                    }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            Future<Answer> second = executor.submit(() ->
+                    store.execute(SCOPE, key, new Request("drill"), Answer.class, () -> answer("drill")));
+            awaitCoalesced();
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private IdempotencyStore newStore(SimpleMeterRegistry registry) {
+        return new IdempotencyStore(idempotencyRecordRepository, objectMapper, transactionManager, Clock.systemUTC(),
+                registry, 1000, Duration.ofHours(24), Duration.ofSeconds(5));
+    }
+
+    private Answer answer(String name) {
+        return new Answer(executions.incrementAndGet(), name);
+    }
+
+    private void awaitCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (meterRegistry.counter("shareit.idempotency.replays", "source", "in-flight").count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Request(String name) {
+    }
+
+    record Answer(long id, String name) {
+    }
+
+    static class Unwritable {
+
+        public String getName() {
+            throw new IllegalStateException("Not serializable");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemCardVersions;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.StatementAssertions.assertStatementsAtMost;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemCardVersions itemCardVersions;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "etag" + System.nanoTime() + "@mail.ru", 0L));
+        item = itemRepository.save(new Item(null, owner, "Drill", "Cordless drill", true, 0L, 0L));
+    }
+
+    @Test
+    void unchangedCardIsAnsweredWithNotModified() throws Exception {
+        String eTag = getCard().andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void patchReturnsTheTagOfTheUpdatedCard() throws Exception {
+        String before = getCard().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String after = rename("Hammer", before)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(before, after);
+        getCard().andExpect(header().string(HttpHeaders.ETAG, after));
+        mockMvc.perform(get("/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, after))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void notModifiedIsDecidedWithoutAssemblingTheCard() throws Throwable {
+        String before = getCard().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String after = rename("Hammer", before).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementsAtMost(1, () -> mockMvc
+                .perform(get("/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, after))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void bookingOrCommentWriteChangesTheTag() throws Exception {
+        String before = getCard().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        itemCardVersions.bump(List.of(item.getId()));
+
+        mockMvc.perform(get("/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWithPreconditionFailed() throws Exception {
+        String before = getCard().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        rename("Hammer", before).andExpect(status().isOk());
+
+        rename("Saw", before)
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+        getCard().andExpect(jsonPath("$.name").value("Hammer"));
+    }
+
+    @Test
+    void anyTagOfAnIfMatchListIsAccepted() throws Exception {
+        String current = getCard().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        rename("Hammer", "\"41\", " + current).andExpect(status().isOk());
+        rename("Saw", "W/\"1\", \"41\"").andExpect(status().isPreconditionFailed());
+    }
+
+    private ResultActions getCard() throws Exception {
+        return mockMvc.perform(get("/items/{itemId}", item.getId()));
+    }
+
+    private ResultActions rename(String name, String ifMatch) throws Exception {
+        return mockMvc.perform(patch("/items/{itemId}", item.getId())
+                .header("X-Sharer-User-Id", owner.getId())
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\"}"));
+    }
+}
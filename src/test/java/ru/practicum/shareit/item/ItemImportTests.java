@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.item-import.max-line-length=200")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ItemImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void reportsEveryRejectedLineAndImportsTheRest() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner", "import" + System.nanoTime() + "@mail.ru", 0L));
+        String body = String.join("\n",
+                "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}",
+                "{\"name\":\"Saw\",",
+                "{\"name\":\"\",\"description\":\"No name\",\"available\":true}",
+                "",
+                "{\"name\":\"Ladder\",\"description\":\"" + "l".repeat(300) + "\",\"available\":true}",
+                "{\"name\":\"Hammer\",\"description\":\"Steel hammer\",\"available\":false}\r",
+                "");
+
+        mockMvc.perform(post("/items/import")
+                        .contentType("application/x-ndjson")
+                        .content(body)
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(startsWith("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[1].line").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Item name can not be blank"))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].message").value("Line is longer than 200 characters"));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class JpqlItemSearchEngineTests {
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "search-owner@mail.ru", 0L));
+    }
+
+    @Test
+    void percentSignIsMatchedLiterally() {
+        Item percent = item("Qzv discount 50%off");
+        item("Qzv discount 50xoff");
+
+        assertEquals(List.of(percent.getId()), search("50%OFF"));
+    }
+
+    @Test
+    void underscoreIsMatchedLiterally() {
+        Item underscore = item("Qzv snake_case ruler");
+        item("Qzv snakeXcase ruler");
+
+        assertEquals(List.of(underscore.getId()), search("E_C"));
+    }
+
+    @Test
+    void backslashIsMatchedLiterally() {
+        Item backslash = item("Qzv back\\slash key");
+        item("Qzv backslash key");
+
+        assertEquals(List.of(backslash.getId()), search("k\\s"));
+    }
+
+    private Item item(String name) {
+        return itemRepository.save(new Item(null, owner, name, "Escaping sample", true, 0L, 0L));
+    }
+
+    private List<Long> search(String text) {
+        return itemSearchEngine.search(text, 10, null).content().stream()
+                .map(Item::getId)
+                .toList();
+    }
+}
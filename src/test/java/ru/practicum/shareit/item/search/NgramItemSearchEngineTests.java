@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NgramItemSearchEngineTests {
+    private final Map<Long, Item> stored = new HashMap<>();
+
+    private NgramItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Item> items = new ArrayList<>();
+            ids.forEach(id -> items.add(stored.get(id)));
+            return items.stream().filter(Objects::nonNull).toList();
+        });
+
+        engine = new NgramItemSearchEngine(itemRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findsSubstringsOfNameAndDescription() {
+        index(1L, "Cordless drill", "Two batteries");
+        index(2L, "Hammer", "Steel DRILL bit holder");
+        index(3L, "Saw", "Hand saw");
+
+        assertEquals(List.of(1L, 2L), search("drill"));
+        assertEquals(List.of(1L), search("ss dr"));
+        assertEquals(List.of(), search("drills"));
+    }
+
+    @Test
+    void trigramHitsAreVerifiedAgainstTheWholeQuery() {
+        index(1L, "abcd", "");
+        index(2L, "bcd abc", "");
+
+        assertEquals(List.of(1L), search("abcd"));
+    }
+
+    @Test
+    void shortQueriesFallBackToScanningDocuments() {
+        index(1L, "Saw", "");
+        index(2L, "Axe", "");
+        index(3L, "Seesaw", "");
+
+        assertEquals(List.of(1L, 3L), search("aw"));
+        assertEquals(List.of(1L, 2L, 3L), search("a"));
+    }
+
+    @Test
+    void removedItemsAreNoLongerFound() {
+        index(1L, "Drill", "");
+        index(2L, "Drill press", "");
+
+        engine.remove(1L);
+
+        assertEquals(List.of(2L), search("drill"));
+        assertEquals(List.of(2L), search("dr"));
+    }
+
+    @Test
+    void reindexingReplacesTheOldText() {
+        index(1L, "Drill", "");
+        index(1L, "Ladder", "");
+
+        assertEquals(List.of(), search("drill"));
+        assertEquals(List.of(1L), search("ladder"));
+    }
+
+    @Test
+    void unavailableItemsAreSkipped() {
+        Item item = new Item(1L, null, "Drill", "", false, 0L, 0L);
+        stored.put(1L, item);
+        engine.index(item);
+
+        assertEquals(List.of(), search("drill"));
+    }
+
+    @Test
+    void cursorContinuesAfterTheLastReturnedId() {
+        for (long id = 1; id <= 5; id++) {
+            index(id, "Drill " + id, "");
+        }
+        index(6L, "Saw", "");
+
+        CursorPage<Item> first = engine.search("drill", 2, null);
+        CursorPage<Item> second = engine.search("drill", 2, PageCursor.decode(first.nextCursor()));
+        CursorPage<Item> last = engine.search("drill", 2, PageCursor.decode(second.nextCursor()));
+
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertNotNull(first.nextCursor());
+        assertEquals(List.of(3L, 4L), ids(second));
+        assertEquals(List.of(5L), ids(last));
+        assertNull(last.nextCursor());
+    }
+
+    private void index(long id, String name, String description) {
+        Item item = new Item(id, null, name, description, true, 0L, 0L);
+        stored.put(id, item);
+        engine.index(item);
+    }
+
+    private List<Long> search(String text) {
+        return ids(engine.search(text, 10, null));
+    }
+
+    private static List<Long> ids(CursorPage<Item> page) {
+        return page.content().stream()
+                .map(Item::getId)
+                .toList();
+    }
+}
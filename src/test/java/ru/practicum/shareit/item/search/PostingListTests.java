@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTests {
+
+    @Test
+    void keepsIdsSortedAndUnique() {
+        PostingList list = new PostingList();
+
+        for (long id : new long[]{5, 1, 9, 3, 7, 5, 11, 1}) {
+            list.add(id);
+        }
+
+        assertEquals(6, list.size());
+
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(2L * i + 1, list.get(i));
+        }
+    }
+
+    @Test
+    void removeDropsOnlyTheGivenId() {
+        PostingList list = new PostingList();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        list.remove(2);
+        list.remove(42);
+
+        assertEquals(2, list.size());
+        assertTrue(list.contains(1));
+        assertFalse(list.contains(2));
+        assertTrue(list.contains(3));
+
+        list.remove(1);
+        list.remove(3);
+
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void indexAfterPointsPastTheGivenId() {
+        PostingList list = new PostingList();
+        list.add(10);
+        list.add(20);
+        list.add(30);
+
+        assertEquals(0, list.indexAfter(0));
+        assertEquals(1, list.indexAfter(10));
+        assertEquals(2, list.indexAfter(25));
+        assertEquals(3, list.indexAfter(30));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Fills the database with plain JDBC batches, bypassing JPA, so millions of rows load in minutes.
+ *
+ * <p>Layout: users get ids {@code 1..users}; item {@code i} belongs to user {@code (i - 1) % users + 1} and every
+ * tenth item is unavailable; bookings reference random items and random non-owner bookers. The id sequences are
+ * moved past the seeded rows afterwards so the application can keep inserting.
+ */
+@Slf4j
+final class BulkSeeder {
+    static final String[] WORDS = {"drill", "ladder", "tent", "kayak", "projector", "camera", "bike", "saw",
+        "grill", "speaker"};
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final long SEED = 42L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random = new SplittableRandom(SEED);
+
+    BulkSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static long ownerOf(long itemId, int users) {
+        return (itemId - 1) % users + 1;
+    }
+
+    static long bookerOf(long itemId, int users) {
+        return ownerOf(itemId, users) % users + 1;
+    }
+
+    static boolean isAvailable(long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    void seed(LoadScenario scenario) {
+        LocalDateTime now = LocalDateTime.now();
+
+        insert("users", "INSERT INTO users (id, name, email) VALUES (?, ?, ?)", scenario.users(),
+                id -> new Object[]{id, "User " + id, "user" + id + "@load.local"});
+
+        insert("items", "INSERT INTO items (id, owner_id, name, description, available) VALUES (?, ?, ?, ?, ?)",
+                scenario.items(), id -> {
+                    String word = WORDS[id % WORDS.length];
+                    return new Object[]{id, ownerOf(id, scenario.users()), word + " " + id,
+                        "Rental " + word + " in good condition, lot " + id, isAvailable(id)};
+                });
+
+        insert("bookings", "INSERT INTO bookings (id, booker_id, item_id, start_date, end_date, status, phase) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", scenario.bookings(), id -> {
+                    long itemId = random.nextLong(1, scenario.items() + 1L);
+                    LocalDateTime start = now.plusHours(random.nextInt(-24 * 365, 24 * 90));
+                    LocalDateTime end = start.plusHours(random.nextInt(1, 72));
+                    int roll = random.nextInt(10);
+                    BookingStatus status = roll < 7 ? BookingStatus.APPROVED
+                            : roll < 9 ? BookingStatus.WAITING : BookingStatus.REJECTED;
+
+                    return new Object[]{id, randomBooker(itemId, scenario.users()), itemId,
+                        Timestamp.valueOf(start), Timestamp.valueOf(end), status.name(),
+                        BookingPhase.of(status, start, end, now).name()};
+                });
+
+        restartSequence("users_seq", scenario.users());
+        restartSequence("items_seq", scenario.items());
+        restartSequence("bookings_seq", scenario.bookings());
+    }
+
+    private long randomBooker(long itemId, int users) {
+        long owner = ownerOf(itemId, users);
+        long booker = random.nextLong(1, users + 1L);
+
+        return booker == owner ? bookerOf(itemId, users) : booker;
+    }
+
+    private void insert(String table, String sql, int rows, IntFunction<Object[]> row) {
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int id = 1; id <= rows; id++) {
+            batch.add(row.apply(id));
+
+            if (batch.size() == BATCH_SIZE || id == rows) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+
+        log.info("Seeded {} {} in {} ms", rows, table, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void restartSequence(String sequence, long maxId) {
+        long next = maxId + ALLOCATION_SIZE + 1;
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+
+        if ("PostgreSQL".equals(product)) {
+            jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, sequence, next);
+        } else {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+        }
+    }
+}
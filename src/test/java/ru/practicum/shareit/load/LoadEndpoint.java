@@ -0,0 +1,115 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Requests the harness can issue. Ids are drawn from the seeded ranges, see {@link BulkSeeder} for the layout.
+ */
+enum LoadEndpoint {
+    USER("user", Set.of(200)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            return get(baseUrl + "/users/" + randomUser(scenario), randomUser(scenario));
+        }
+    },
+    ITEM("item", Set.of(200)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            return get(baseUrl + "/items/" + randomItem(scenario), randomUser(scenario));
+        }
+    },
+    OWNER_ITEMS("ownerItems", Set.of(200)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            return get(baseUrl + "/items?limit=20", randomUser(scenario));
+        }
+    },
+    SEARCH("search", Set.of(200)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            String word = BulkSeeder.WORDS[ThreadLocalRandom.current().nextInt(BulkSeeder.WORDS.length)];
+            return get(baseUrl + "/items/search?limit=20&text=" + word, randomUser(scenario));
+        }
+    },
+    BOOKER_BOOKINGS("bookerBookings", Set.of(200)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            return get(baseUrl + "/bookings?state=ALL&limit=20", randomUser(scenario));
+        }
+    },
+    OWNER_BOOKINGS("ownerBookings", Set.of(200)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            return get(baseUrl + "/bookings/owner?state=ALL&limit=20", randomUser(scenario));
+        }
+    },
+    CREATE_BOOKING("createBooking", Set.of(200, 409)) {
+        @Override
+        HttpRequest request(String baseUrl, LoadScenario scenario) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long itemId = randomItem(scenario);
+
+            while (!BulkSeeder.isAvailable(itemId)) {
+                itemId = randomItem(scenario);
+            }
+
+            LocalDateTime start = LocalDateTime.now().plusYears(1).plusHours(random.nextInt(24 * 365 * 5));
+            String body = "{\"itemId\":" + itemId
+                    + ",\"start\":\"" + start + "\""
+                    + ",\"end\":\"" + start.plusHours(1) + "\"}";
+
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                    .header(USER_HEADER, String.valueOf(BulkSeeder.bookerOf(itemId, scenario.users())))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    };
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final String label;
+    private final Set<Integer> expectedStatuses;
+
+    LoadEndpoint(String label, Set<Integer> expectedStatuses) {
+        this.label = label;
+        this.expectedStatuses = expectedStatuses;
+    }
+
+    abstract HttpRequest request(String baseUrl, LoadScenario scenario);
+
+    String label() {
+        return label;
+    }
+
+    boolean isExpected(int status) {
+        return expectedStatuses.contains(status);
+    }
+
+    static LoadEndpoint byName(String label) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + label));
+    }
+
+    private static long randomUser(LoadScenario scenario) {
+        return ThreadLocalRandom.current().nextLong(1, scenario.users() + 1L);
+    }
+
+    private static long randomItem(LoadScenario scenario) {
+        return ThreadLocalRandom.current().nextLong(1, scenario.items() + 1L);
+    }
+
+    private static HttpRequest get(String url, long userId) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+}
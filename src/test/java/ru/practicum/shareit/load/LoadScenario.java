@@ -0,0 +1,86 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from {@code load.*} system properties.
+ *
+ * <ul>
+ *     <li>{@code load.profile} - Spring profile to start with, {@code test} (H2) by default; empty for the
+ *     Postgres settings in {@code application.properties}</li>
+ *     <li>{@code load.users}, {@code load.items}, {@code load.bookings} - seeded dataset size</li>
+ *     <li>{@code load.clients}, {@code load.warmup}, {@code load.duration} - concurrent virtual-thread clients
+ *     and run length</li>
+ *     <li>{@code load.mix} - endpoint weights, e.g. {@code user=10,item=30,search=20}</li>
+ *     <li>{@code load.budget.<endpoint>.p50|p95|p99} - latency budgets such as {@code 25ms}</li>
+ *     <li>{@code load.max-error-rate} - tolerated share of unexpected responses per endpoint</li>
+ * </ul>
+ */
+record LoadScenario(String profile,
+                    int users,
+                    int items,
+                    int bookings,
+                    int clients,
+                    Duration warmup,
+                    Duration duration,
+                    Map<LoadEndpoint, Integer> mix,
+                    Map<LoadEndpoint, Map<Percentile, Duration>> budgets,
+                    double maxErrorRate) {
+
+    private static final String DEFAULT_MIX = "user=10,item=25,ownerItems=10,search=15,bookerBookings=20,"
+            + "ownerBookings=15,createBooking=5";
+
+    enum Percentile {
+        P50(0.50), P95(0.95), P99(0.99);
+
+        final double quantile;
+
+        Percentile(double quantile) {
+            this.quantile = quantile;
+        }
+    }
+
+    static LoadScenario fromSystemProperties() {
+        Map<LoadEndpoint, Integer> mix = new EnumMap<>(LoadEndpoint.class);
+
+        for (String entry : System.getProperty("load.mix", DEFAULT_MIX).split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+
+            if (weight > 0) {
+                mix.put(LoadEndpoint.byName(parts[0].trim()), weight);
+            }
+        }
+
+        Map<LoadEndpoint, Map<Percentile, Duration>> budgets = new EnumMap<>(LoadEndpoint.class);
+
+        for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+            for (Percentile percentile : Percentile.values()) {
+                String value = System.getProperty("load.budget." + endpoint.label() + "."
+                        + percentile.name().toLowerCase());
+
+                if (value != null) {
+                    budgets.computeIfAbsent(endpoint, key -> new EnumMap<>(Percentile.class))
+                            .put(percentile, DurationStyle.detectAndParse(value));
+                }
+            }
+        }
+
+        return new LoadScenario(
+                System.getProperty("load.profile", "test"),
+                Integer.getInteger("load.users", 10_000),
+                Integer.getInteger("load.items", 100_000),
+                Integer.getInteger("load.bookings", 1_000_000),
+                Integer.getInteger("load.clients", 200),
+                DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("load.duration", "60s")),
+                mix,
+                budgets,
+                Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"))
+        );
+    }
+}
@@ -0,0 +1,219 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.search.NgramItemSearchEngine;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load scenario: starts the application on a random port, bulk-seeds it, drives the REST API with
+ * virtual-thread clients under the configured endpoint mix and prints throughput and latency percentiles per
+ * endpoint. Exits with status 1 when a latency budget or the error-rate limit is exceeded.
+ *
+ * <p>Not part of the test suite; run the {@code main} method with the test classpath. Settings are described on
+ * {@link LoadScenario}.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadScenario scenario = LoadScenario.fromSystemProperties();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItApp.class)
+                .properties("server.port=0", "logging.level.org.hibernate.SQL=WARN");
+
+        if (!scenario.profile().isEmpty()) {
+            builder.profiles(scenario.profile());
+        }
+
+        List<String> violations;
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            new BulkSeeder(context.getBean(JdbcTemplate.class)).seed(scenario);
+            context.getBeanProvider(NgramItemSearchEngine.class).ifAvailable(NgramItemSearchEngine::rebuild);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            log.info("Warming up for {}", scenario.warmup());
+            drive(baseUrl, scenario, scenario.warmup());
+
+            log.info("Measuring for {} with {} clients", scenario.duration(), scenario.clients());
+            Map<LoadEndpoint, EndpointStats> stats = drive(baseUrl, scenario, scenario.duration());
+
+            violations = report(scenario, stats);
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.err.println("BUDGET EXCEEDED: " + violation));
+            System.exit(1);
+        }
+    }
+
+    private static Map<LoadEndpoint, EndpointStats> drive(String baseUrl, LoadScenario scenario, Duration duration)
+            throws Exception {
+        LoadEndpoint[] wheel = weightedWheel(scenario.mix());
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<LoadEndpoint, Recorder>>> futures = new ArrayList<>(scenario.clients());
+
+            for (int i = 0; i < scenario.clients(); i++) {
+                futures.add(clients.submit(() -> {
+                    Map<LoadEndpoint, Recorder> recorders = new EnumMap<>(LoadEndpoint.class);
+
+                    while (System.nanoTime() < deadline) {
+                        LoadEndpoint endpoint = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                        Recorder recorder = recorders.computeIfAbsent(endpoint, key -> new Recorder());
+                        long started = System.nanoTime();
+
+                        try {
+                            int status = client.send(endpoint.request(baseUrl, scenario),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            recorder.record(System.nanoTime() - started, endpoint.isExpected(status));
+                        } catch (IOException e) {
+                            recorder.record(System.nanoTime() - started, false);
+                        }
+                    }
+
+                    return recorders;
+                }));
+            }
+
+            Map<LoadEndpoint, List<Recorder>> perEndpoint = new EnumMap<>(LoadEndpoint.class);
+
+            for (Future<Map<LoadEndpoint, Recorder>> future : futures) {
+                future.get().forEach((endpoint, recorder) ->
+                        perEndpoint.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(recorder));
+            }
+
+            Map<LoadEndpoint, EndpointStats> stats = new EnumMap<>(LoadEndpoint.class);
+            perEndpoint.forEach((endpoint, recorders) -> stats.put(endpoint, EndpointStats.of(recorders, duration)));
+            return stats;
+        }
+    }
+
+    private static List<String> report(LoadScenario scenario, Map<LoadEndpoint, EndpointStats> stats) {
+        List<String> violations = new ArrayList<>();
+
+        System.out.printf("%n%-16s %10s %12s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "requests/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+
+        stats.forEach((endpoint, endpointStats) -> {
+            System.out.printf("%-16s %10d %12.1f %10.2f %10.2f %10.2f %10.2f %8d%n", endpoint.label(),
+                    endpointStats.requests(), endpointStats.throughput(),
+                    millis(endpointStats.percentile(0.50)), millis(endpointStats.percentile(0.95)),
+                    millis(endpointStats.percentile(0.99)), millis(endpointStats.percentile(1.0)),
+                    endpointStats.errors());
+
+            if (endpointStats.errorRate() > scenario.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.4f > %.4f", endpoint.label(),
+                        endpointStats.errorRate(), scenario.maxErrorRate()));
+            }
+
+            scenario.budgets().getOrDefault(endpoint, Map.of()).forEach((percentile, budget) -> {
+                long actual = endpointStats.percentile(percentile.quantile);
+
+                if (actual > budget.toNanos()) {
+                    violations.add(String.format("%s %s %.2f ms > %d ms", endpoint.label(),
+                            percentile.name().toLowerCase(), millis(actual), budget.toMillis()));
+                }
+            });
+        });
+
+        return violations;
+    }
+
+    private static LoadEndpoint[] weightedWheel(Map<LoadEndpoint, Integer> mix) {
+        List<LoadEndpoint> wheel = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(endpoint);
+            }
+        });
+        return wheel.toArray(LoadEndpoint[]::new);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean expected) {
+            if (!expected) {
+                errors++;
+            }
+
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+
+            latencies[count++] = nanos;
+        }
+    }
+
+    private record EndpointStats(long[] sortedLatencies, long errors, Duration duration) {
+
+        static EndpointStats of(List<Recorder> recorders, Duration duration) {
+            int total = recorders.stream().mapToInt(recorder -> recorder.count).sum();
+            long[] latencies = new long[total];
+            long errors = 0;
+            int position = 0;
+
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, latencies, position, recorder.count);
+                position += recorder.count;
+                errors += recorder.errors;
+            }
+
+            Arrays.sort(latencies);
+            return new EndpointStats(latencies, errors, duration);
+        }
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        double errorRate() {
+            return sortedLatencies.length == 0 ? 0 : (double) errors / sortedLatencies.length;
+        }
+
+        long percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)];
+        }
+    }
+}
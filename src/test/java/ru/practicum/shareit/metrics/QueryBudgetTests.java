@@ -0,0 +1,108 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.StatementAssertions.assertStatementsAtMost;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTests {
+    private static final int ITEMS = 1000;
+    private static final int BOOKERS = 5;
+    private static final int BOOKED_ITEMS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner" + System.nanoTime() + "@example.com");
+        ownerId = userRepository.save(owner).getId();
+
+        List<ItemCreateDto> items = new ArrayList<>(ITEMS);
+
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new ItemCreateDto(null, "Item " + i, "Description " + i, true));
+        }
+
+        List<ItemRequestDto> created = itemService.createAll(items, ownerId);
+        List<User> bookers = new ArrayList<>(BOOKERS);
+
+        for (int i = 0; i < BOOKERS; i++) {
+            User booker = new User();
+            booker.setName("booker " + i);
+            booker.setEmail("booker" + i + "-" + System.nanoTime() + "@example.com");
+            bookers.add(userRepository.save(booker));
+        }
+
+        List<Booking> bookings = new ArrayList<>(BOOKED_ITEMS);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        for (int i = 0; i < BOOKED_ITEMS; i++) {
+            Item item = itemRepository.getReferenceById(created.get(i).getId());
+            bookings.add(new Booking(null, bookers.get(i % BOOKERS), item, start.plusHours(i),
+                    start.plusHours(i + 1), BookingStatus.APPROVED, BookingPhase.FUTURE, false));
+        }
+
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void ownerItemsPageDoesNotGrowWithItemCount() throws Throwable {
+        assertStatementsAtMost(4, () -> mockMvc.perform(get("/items")
+                        .param("limit", String.valueOf(ITEMS))
+                        .header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ITEMS)));
+    }
+
+    @Test
+    void ownerBookingsStayWithinBudget() throws Throwable {
+        assertStatementsAtMost(3, () -> mockMvc.perform(get("/bookings/owner")
+                        .param("limit", String.valueOf(BOOKED_ITEMS))
+                        .header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BOOKED_ITEMS)));
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test helpers around {@link StatementCounter}, e.g.
+ * {@code assertStatementsAtMost(3, () -> mockMvc.perform(get("/items")))}.
+ */
+public final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    public static int countStatements(ThrowingSupplier<?> action) throws Throwable {
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            action.get();
+            return scope.statements();
+        }
+    }
+
+    public static void assertStatementsAtMost(int max, ThrowingSupplier<?> action) throws Throwable {
+        int statements = countStatements(action);
+
+        assertTrue(statements <= max, "Expected at most " + max + " statements, but " + statements + " were issued");
+    }
+}
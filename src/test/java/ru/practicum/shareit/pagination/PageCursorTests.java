@@ -0,0 +1,62 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTests {
+
+    @Test
+    void roundTripsSortKeyAndId() {
+        PageCursor cursor = new PageCursor("2030-01-01T12:00", 42L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsIdOnlyCursor() {
+        PageCursor cursor = PageCursor.ofId(7L);
+
+        assertNull(cursor.sortKey());
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void sortKeyMayContainTheSeparator() {
+        PageCursor cursor = new PageCursor("a|b", 3L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void missingTokenMeansFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    void malformedBase64IsRejected() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not base64!"));
+    }
+
+    @Test
+    void missingSeparatorIsRejected() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode(token("12345")));
+    }
+
+    @Test
+    void nonNumericIdIsRejected() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode(token("2030-01-01T12:00|abc")));
+        assertThrows(ValidationException.class, () -> PageCursor.decode(token("2030-01-01T12:00|")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
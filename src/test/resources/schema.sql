@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
@@ -14,6 +15,8 @@ CREATE TABLE IF NOT EXISTS items (
     name VARCHAR(255) NOT NULL,
     description VARCHAR(255) NOT NULL,
     available BOOLEAN NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    card_version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (id),
     CONSTRAINT fk_owner FOREIGN KEY (owner_id) REFERENCES users(id)
 );
@@ -26,6 +29,8 @@ CREATE TABLE IF NOT EXISTS bookings (
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     status VARCHAR(50) NOT NULL,
+    phase VARCHAR(50) NOT NULL,
+    archived BOOLEAN DEFAULT FALSE NOT NULL,
     CONSTRAINT pk_bookings PRIMARY KEY (id),
     CONSTRAINT fk_booker FOREIGN KEY (booker_id) REFERENCES users(id),
     CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id)
@@ -38,7 +43,35 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT NOT NULL,
     item_id BIGINT NOT NULL,
     comment_date TIMESTAMP NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_author FOREIGN KEY (author_id) REFERENCES users(id),
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items(id)
-);
\ No newline at end of file
+);
+
+-- Последовательности идентификаторов (pooled optimizer, шаг совпадает с allocationSize)
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_start ON bookings (booker_id, item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_phase_start ON bookings (booker_id, phase, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_phase_start ON bookings (item_id, phase, start_date DESC, id DESC);
+
+-- Ключи идемпотентности POST-запросов и сохранённые ответы
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id VARCHAR(512) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response VARCHAR,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created ON idempotency_keys (created_at);